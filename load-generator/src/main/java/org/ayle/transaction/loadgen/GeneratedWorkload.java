@@ -0,0 +1,110 @@
+package org.ayle.transaction.loadgen;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates a random mix of create, update, list and get requests.
+ * The sequence of operations, payloads and target IDs is determined by the seed: updates and gets pick
+ * a transaction by its index among the creates issued so far, including the prefill, rather than by the
+ * order in which their responses arrived. A target whose create has not completed yet fails like any other request.
+ */
+public class GeneratedWorkload implements Workload {
+
+    private static final String BASE_PATH = "/api/v1/transactions";
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final String[][] TYPE_CATEGORIES = {
+            {"DEPOSIT", "CASH"}, {"DEPOSIT", "REPAYMENT_REFUND"}, {"WITHDRAWAL", "CASH"}, {"WITHDRAWAL", "PAYMENT"}};
+
+    private static final String[] MERCHANTS = {"ACME", "Globex", "Initech", "Umbrella", "Hooli", "Stark"};
+
+    private final Random random;
+
+    private final Map<Operation, Integer> mix;
+
+    private final int totalWeight;
+
+    private final int listPages;
+
+    private final String idPrefix;
+
+    private long created;
+
+    public GeneratedWorkload(LoadGeneratorOptions options, String idPrefix) {
+        this.random = new Random(options.getSeed());
+        this.mix = options.getMix();
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.listPages = options.getListPages();
+        this.idPrefix = idPrefix;
+    }
+
+    @Override
+    public RequestSpec next() {
+        int pick = random.nextInt(totalWeight);
+        Operation operation = Operation.CREATE;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                operation = entry.getKey();
+                break;
+            }
+        }
+        return switch (operation) {
+            case CREATE -> create();
+            case UPDATE -> update();
+            case LIST -> list();
+            case GET -> get();
+        };
+    }
+
+    /**
+     * Returns a create request, also used to prefill the instance.
+     *
+     * @return The create request.
+     */
+    public RequestSpec create() {
+        String id = idPrefix + "-" + created++;
+        return new RequestSpec(Operation.CREATE, "POST", BASE_PATH + "/create", body(id), id, -1);
+    }
+
+    private RequestSpec update() {
+        if (created == 0) {
+            return create();
+        }
+        String id = pick();
+        return new RequestSpec(Operation.UPDATE, "POST", BASE_PATH + "/update", body(id), null, -1);
+    }
+
+    private RequestSpec list() {
+        String path = BASE_PATH + "/list?pageSize=" + PAGE_SIZE + "&pageNo=" + (1 + random.nextInt(listPages));
+        if (random.nextBoolean()) {
+            path += "&status=PENDING";
+        }
+        return new RequestSpec(Operation.LIST, "GET", path, null, null, -1);
+    }
+
+    private RequestSpec get() {
+        if (created == 0) {
+            return list();
+        }
+        String id = pick();
+        return new RequestSpec(Operation.GET, "GET", BASE_PATH + "/" + id, null, null, -1);
+    }
+
+    private String pick() {
+        return idPrefix + "-" + random.nextLong(created);
+    }
+
+    private String body(String id) {
+        String[] typeCategory = TYPE_CATEGORIES[random.nextInt(TYPE_CATEGORIES.length)];
+        return "{\"id\":\"" + id + "\"," +
+                "\"type\":\"" + typeCategory[0] + "\"," +
+                "\"category\":\"" + typeCategory[1] + "\"," +
+                "\"status\":\"PENDING\"," +
+                "\"amount\":\"" + (1 + random.nextInt(100_000)) / 100 + "." + String.format("%02d", random.nextInt(100)) + "\"," +
+                "\"description\":\"Payment " + MERCHANTS[random.nextInt(MERCHANTS.length)] + " ref " + random.nextInt(1_000_000) + "\"," +
+                "\"primaryAccount\":\"" + (10_000 + random.nextInt(90_000)) + "\"}";
+    }
+}
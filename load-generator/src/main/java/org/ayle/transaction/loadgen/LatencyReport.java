@@ -0,0 +1,118 @@
+package org.ayle.transaction.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histograms of the successful and of the failed requests per operation.
+ * Latencies are measured from the intended start time of each request, not from when it was
+ * actually sent, so that a stalled server is not hidden by the generator waiting on it.
+ * Failures are kept apart so that fast error responses do not lower the percentiles of the successes,
+ * while slow ones such as timeouts still show up in the report.
+ */
+public class LatencyReport {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, Histogram> errors = new EnumMap<>(Operation.class);
+
+    public LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(TimeUnit.SECONDS.toNanos(60), 3));
+            errors.put(operation, new ConcurrentHistogram(TimeUnit.SECONDS.toNanos(60), 3));
+        }
+    }
+
+    /**
+     * Records a successful request.
+     *
+     * @param operation    The operation.
+     * @param latencyNanos The time from the intended start until the response was received.
+     */
+    public void recordSuccess(Operation operation, long latencyNanos) {
+        record(histograms.get(operation), latencyNanos);
+    }
+
+    /**
+     * Records a failed request: an error status, no response at all, or no response yet when the report is written.
+     *
+     * @param operation    The operation.
+     * @param latencyNanos The time from the intended start until the failure was seen.
+     */
+    public void recordError(Operation operation, long latencyNanos) {
+        record(errors.get(operation), latencyNanos);
+    }
+
+    private static void record(Histogram histogram, long latencyNanos) {
+        histogram.recordValue(Math.max(0, Math.min(latencyNanos, histogram.getHighestTrackableValue())));
+    }
+
+    /**
+     * Writes a percentile distribution per operation ({@code <operation>.hgrm}, in milliseconds), one of its
+     * failures if any ({@code <operation>-errors.hgrm}) and a summary of all operations ({@code summary.txt}),
+     * and prints the summary.
+     *
+     * @param output         The output directory.
+     * @param measuredMillis The length of the measured part of the run.
+     * @param header         Lines describing the run, written on top of the summary.
+     * @throws IOException If a report cannot be written.
+     */
+    public void write(Path output, long measuredMillis, String header) throws IOException {
+        Files.createDirectories(output);
+        Histogram all = new Histogram(3);
+        Histogram allErrors = new Histogram(3);
+        StringBuilder summary = new StringBuilder(header);
+        summary.append(String.format(Locale.ROOT, "%-8s %10s %8s %10s %10s %10s %10s %10s %10s %12s %12s%n",
+                "op", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms",
+                "err p99 ms", "err max ms"));
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            Histogram failures = errors.get(operation);
+            if (histogram.getTotalCount() == 0 && failures.getTotalCount() == 0) {
+                continue;
+            }
+            all.add(histogram);
+            allErrors.add(failures);
+            String name = operation.name().toLowerCase(Locale.ROOT);
+            summary.append(line(name, histogram, failures, measuredMillis));
+            writeDistribution(output.resolve(name + ".hgrm"), histogram);
+            if (failures.getTotalCount() > 0) {
+                writeDistribution(output.resolve(name + "-errors.hgrm"), failures);
+            }
+        }
+        summary.append(line("all", all, allErrors, measuredMillis));
+        Files.writeString(output.resolve("summary.txt"), summary, StandardCharsets.UTF_8);
+        System.out.print(summary);
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+
+    private static String line(String name, Histogram histogram, Histogram failures, long measuredMillis) {
+        return String.format(Locale.ROOT, "%-8s %10d %8d %10.1f %10.3f %10.3f %10.3f %10.3f %10.3f %12.3f %12.3f%n",
+                name, histogram.getTotalCount(), failures.getTotalCount(),
+                (histogram.getTotalCount() + failures.getTotalCount()) * 1000.0 / measuredMillis,
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / NANOS_PER_MILLI,
+                millis(failures, 99), failures.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,236 @@
+package org.ayle.transaction.loadgen;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Headless open-loop load generator for the transaction API.
+ * Requests are started at their scheduled arrival times whether or not earlier requests have
+ * completed, and their latency is measured from that scheduled time, which avoids coordinated omission.
+ * Requests without a response when the report is written are counted as errors, so that a server that
+ * stops responding cannot make the run look faster.
+ */
+public class LoadGenerator {
+
+    private static final int PREFILL_CONCURRENCY = 16;
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadGeneratorOptions options;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final LatencyReport report = new LatencyReport();
+
+    /**
+     * Requests sent and not completed yet. Whoever removes a request, its completion or the report, records it.
+     */
+    private final Set<InFlight> inFlight = ConcurrentHashMap.newKeySet();
+
+    public LoadGenerator(LoadGeneratorOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 1 && (args[0].equals("--help") || args[0].equals("-h"))) {
+            System.out.print(LoadGeneratorOptions.USAGE);
+            return;
+        }
+        LoadGeneratorOptions options;
+        try {
+            options = LoadGeneratorOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadGeneratorOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        new LoadGenerator(options).run();
+    }
+
+    /**
+     * Prefills the instance, runs the workload and writes the reports.
+     *
+     * @throws IOException          If the workload cannot be read or a report cannot be written.
+     * @throws InterruptedException If interrupted while waiting for requests.
+     */
+    public void run() throws IOException, InterruptedException {
+        // the time keeps repeated runs against the same instance from creating existing IDs
+        String idPrefix = "lg-" + options.getSeed() + "-" + Long.toString(System.currentTimeMillis(), 36);
+        GeneratedWorkload generated = new GeneratedWorkload(options, idPrefix);
+        prefill(generated);
+        Workload workload = options.getReplay() != null
+                ? RecordedWorkload.load(options.getReplay(), options.getSpeed()) : generated;
+
+        Random arrivals = new Random(options.getSeed());
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / options.getRate();
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFrom = start + options.getWarmup().toNanos();
+        long end = start + options.getDuration().toNanos();
+        long intended = start;
+        long sent = 0;
+        RequestSpec spec;
+        while ((spec = workload.next()) != null) {
+            if (spec.offsetNanos() >= 0) {
+                intended = start + spec.offsetNanos();
+            } else if (sent > 0) {
+                intended += options.isPoisson()
+                        ? (long) (-Math.log(1 - arrivals.nextDouble()) * meanIntervalNanos) : (long) meanIntervalNanos;
+            }
+            if (intended >= end) {
+                break;
+            }
+            sleepUntil(intended);
+            send(spec, intended, intended >= measureFrom);
+            sent++;
+        }
+        long last = Math.min(end, System.nanoTime());
+        awaitInFlight();
+        long unfinished = recordUnfinished();
+
+        String header = String.format("run: %s%nbase-url: %s, workload: %s, target rate: %.1f req/s (%s), " +
+                        "duration: %ds, warmup: %ds, seed: %d, sent: %d, unfinished (counted as errors): %d%n" +
+                        "id prefix: %s (varies between runs, the requests are otherwise the same for the same seed)%n",
+                Instant.now(), options.getBaseUrl(),
+                options.getReplay() != null ? options.getReplay() : "generated " + options.getMix(),
+                options.getRate(), options.isPoisson() ? "poisson" : "uniform",
+                options.getDuration().toSeconds(), options.getWarmup().toSeconds(), options.getSeed(), sent, unfinished,
+                idPrefix);
+        report.write(options.getOutput(), TimeUnit.NANOSECONDS.toMillis(Math.max(1, last - measureFrom)), header);
+    }
+
+    /**
+     * Creates the configured number of transactions with a bounded number of concurrent requests.
+     * Nothing is created when replaying, unless {@code --prefill} is given explicitly.
+     */
+    private void prefill(GeneratedWorkload workload) throws InterruptedException {
+        Semaphore permits = new Semaphore(PREFILL_CONCURRENCY);
+        AtomicLong succeeded = new AtomicLong();
+        for (int i = 0; i < options.getPrefill(); i++) {
+            RequestSpec spec = workload.create();
+            permits.acquire();
+            client.sendAsync(request(spec), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error == null && response.statusCode() < 400) {
+                            succeeded.incrementAndGet();
+                        }
+                        permits.release();
+                    });
+        }
+        permits.acquire(PREFILL_CONCURRENCY);
+        if (options.getPrefill() > 0 && succeeded.get() == 0) {
+            throw new IllegalStateException("Prefill failed, is the instance running at " + options.getBaseUrl() + "?");
+        }
+    }
+
+    private void send(RequestSpec spec, long intended, boolean measured) {
+        InFlight request = new InFlight(spec.operation(), intended, measured);
+        inFlight.add(request);
+        CompletableFuture<HttpResponse<Void>> response;
+        try {
+            response = client.sendAsync(request(spec), HttpResponse.BodyHandlers.discarding());
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        response.whenComplete((result, error) -> {
+            long latency = System.nanoTime() - intended;
+            boolean success = error == null && result.statusCode() < 400;
+            if (inFlight.remove(request) && measured) {
+                if (success) {
+                    report.recordSuccess(spec.operation(), latency);
+                } else {
+                    report.recordError(spec.operation(), latency);
+                }
+            }
+        });
+    }
+
+    private HttpRequest request(RequestSpec spec) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(options.getBaseUrl() + spec.path()))
+                .timeout(REQUEST_TIMEOUT);
+        if (spec.body() != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(spec.method(), HttpRequest.BodyPublishers.ofString(spec.body()));
+        } else {
+            builder.method(spec.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (!inFlight.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Records the requests still without a response as errors, with their latency so far.
+     *
+     * @return The number of measured requests recorded.
+     */
+    private long recordUnfinished() {
+        long now = System.nanoTime();
+        long unfinished = 0;
+        for (InFlight request : inFlight) {
+            if (inFlight.remove(request) && request.measured()) {
+                report.recordError(request.operation(), now - request.intended());
+                unfinished++;
+            }
+        }
+        return unfinished;
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * A request that was sent, compared by identity.
+     */
+    private static final class InFlight {
+
+        private final Operation operation;
+
+        private final long intended;
+
+        private final boolean measured;
+
+        InFlight(Operation operation, long intended, boolean measured) {
+            this.operation = operation;
+            this.intended = intended;
+            this.measured = measured;
+        }
+
+        Operation operation() {
+            return operation;
+        }
+
+        long intended() {
+            return intended;
+        }
+
+        boolean measured() {
+            return measured;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.ayle.transaction.loadgen;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Command line options of the load generator.
+ */
+public class LoadGeneratorOptions {
+
+    static final String USAGE = """
+            Usage: java -jar load-generator.jar [options]
+              --base-url <url>        Base URL of the running instance (default http://localhost:8080)
+              --rate <n>              Target arrival rate in requests per second (default 200)
+              --duration <seconds>    Length of the measured run (default 60)
+              --warmup <seconds>      Initial part of the run excluded from the report (default 10)
+              --arrival <type>        uniform or poisson inter-arrival times (default poisson)
+              --mix <op=weight,...>   Weights of create, update, list and get (default create=20,update=10,list=50,get=20)
+              --prefill <n>           Transactions created before the run starts (default 1000, 0 with --replay)
+              --list-pages <n>        Pages of 20 transactions picked from by list requests (default 50)
+              --seed <n>              Seed of the generated workload and arrival times (default 42)
+              --replay <file>         Replay a recorded JSONL workload instead of generating one
+              --speed <factor>        Replay speed relative to the recorded offsets (default 1.0)
+              --output <dir>          Directory of the latency reports (default load-reports)
+            """;
+
+    private String baseUrl = "http://localhost:8080";
+
+    private double rate = 200;
+
+    private Duration duration = Duration.ofSeconds(60);
+
+    private Duration warmup = Duration.ofSeconds(10);
+
+    private boolean poisson = true;
+
+    private final Map<Operation, Integer> mix = new EnumMap<>(Map.of(
+            Operation.CREATE, 20, Operation.UPDATE, 10, Operation.LIST, 50, Operation.GET, 20));
+
+    private Integer prefill;
+
+    private int listPages = 50;
+
+    private long seed = 42;
+
+    private Path replay;
+
+    private double speed = 1.0;
+
+    private Path output = Path.of("load-reports");
+
+    /**
+     * Parses the command line arguments.
+     *
+     * @param args The command line arguments.
+     * @return The parsed options.
+     * @throws IllegalArgumentException If an argument is unknown or invalid.
+     */
+    public static LoadGeneratorOptions parse(String[] args) {
+        LoadGeneratorOptions options = new LoadGeneratorOptions();
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--base-url" -> options.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "--rate" -> options.rate = positive(Double.parseDouble(value), args[i]);
+                case "--duration" -> options.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "--warmup" -> options.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "--arrival" -> options.poisson = parseArrival(value);
+                case "--mix" -> options.parseMix(value);
+                case "--prefill" -> options.prefill = Integer.parseInt(value);
+                case "--list-pages" -> options.listPages = (int) positive(Integer.parseInt(value), args[i]);
+                case "--seed" -> options.seed = Long.parseLong(value);
+                case "--replay" -> options.replay = Path.of(value);
+                case "--speed" -> options.speed = positive(Double.parseDouble(value), args[i]);
+                case "--output" -> options.output = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (options.prefill == null) {
+            // a recorded workload creates the transactions it targets itself
+            options.prefill = options.replay != null ? 0 : 1000;
+        }
+        if (options.warmup.compareTo(options.duration) >= 0) {
+            throw new IllegalArgumentException("Warmup must be shorter than the duration");
+        }
+        return options;
+    }
+
+    private static double positive(double value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+
+    private static boolean parseArrival(String value) {
+        return switch (value) {
+            case "poisson" -> true;
+            case "uniform" -> false;
+            default -> throw new IllegalArgumentException("Unknown arrival type " + value);
+        };
+    }
+
+    private void parseMix(String value) {
+        mix.clear();
+        for (String entry : value.split(",")) {
+            String[] pair = entry.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Invalid mix weight " + entry);
+            }
+            mix.put(Operation.valueOf(pair[0].trim().toUpperCase()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("The mix must contain at least one operation");
+        }
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public boolean isPoisson() {
+        return poisson;
+    }
+
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+
+    public int getPrefill() {
+        return prefill;
+    }
+
+    public int getListPages() {
+        return listPages;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Path getReplay() {
+        return replay;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public Path getOutput() {
+        return output;
+    }
+}
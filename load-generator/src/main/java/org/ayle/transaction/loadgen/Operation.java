@@ -0,0 +1,8 @@
+package org.ayle.transaction.loadgen;
+
+/**
+ * Operations of the transaction API, reported separately.
+ */
+public enum Operation {
+    CREATE, UPDATE, LIST, GET
+}
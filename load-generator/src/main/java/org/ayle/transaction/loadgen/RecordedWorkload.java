@@ -0,0 +1,64 @@
+package org.ayle.transaction.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a recorded workload, one JSON request per line:
+ * <pre>
+ * {"operation":"CREATE","method":"POST","path":"/api/v1/transactions/create","body":{...},"offsetMs":0}
+ * </pre>
+ * {@code method} defaults to POST with a body and GET without one. Without {@code offsetMs}
+ * the request is sent at the configured arrival rate.
+ */
+public class RecordedWorkload implements Workload {
+
+    private final Iterator<RequestSpec> requests;
+
+    private RecordedWorkload(List<RequestSpec> requests) {
+        this.requests = requests.iterator();
+    }
+
+    /**
+     * Loads a recorded workload.
+     *
+     * @param file  The JSONL file.
+     * @param speed The replay speed relative to the recorded offsets.
+     * @return The workload.
+     * @throws IOException If the file cannot be read or a line is not valid JSON.
+     */
+    public static RecordedWorkload load(Path file, double speed) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<RequestSpec> requests = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node = mapper.readTree(line);
+            Operation operation = Operation.valueOf(node.path("operation").asText().toUpperCase());
+            JsonNode body = node.get("body");
+            String method = node.hasNonNull("method") ? node.get("method").asText() : body == null ? "GET" : "POST";
+            String transactionId = operation == Operation.CREATE && body != null && body.hasNonNull("id")
+                    ? body.get("id").asText() : null;
+            long offsetNanos = node.hasNonNull("offsetMs")
+                    ? (long) (TimeUnit.MILLISECONDS.toNanos(node.get("offsetMs").asLong()) / speed) : -1;
+            requests.add(new RequestSpec(operation, method, node.get("path").asText(),
+                    body == null ? null : mapper.writeValueAsString(body), transactionId, offsetNanos));
+        }
+        return new RecordedWorkload(requests);
+    }
+
+    @Override
+    public RequestSpec next() {
+        return requests.hasNext() ? requests.next() : null;
+    }
+}
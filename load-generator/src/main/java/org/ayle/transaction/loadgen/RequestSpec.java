@@ -0,0 +1,15 @@
+package org.ayle.transaction.loadgen;
+
+/**
+ * A request to send to the transaction API.
+ *
+ * @param operation     The operation, used to group the latencies.
+ * @param method        The HTTP method.
+ * @param path          The path and query, relative to the base URL.
+ * @param body          The JSON body, or null.
+ * @param transactionId The ID of the transaction created by a CREATE request, or null.
+ * @param offsetNanos   The recorded start time relative to the start of the run, or -1 to use the arrival rate.
+ */
+public record RequestSpec(Operation operation, String method, String path, String body, String transactionId,
+                          long offsetNanos) {
+}
@@ -0,0 +1,14 @@
+package org.ayle.transaction.loadgen;
+
+/**
+ * Supplies the requests of a run, in order. Called from the single scheduling thread.
+ */
+public interface Workload {
+
+    /**
+     * Returns the next request.
+     *
+     * @return The next request, or null when the workload is exhausted.
+     */
+    RequestSpec next();
+}
@@ -0,0 +1,97 @@
+package org.ayle.transaction.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeneratedWorkloadTest {
+
+    private static GeneratedWorkload workload(String... args) {
+        return new GeneratedWorkload(LoadGeneratorOptions.parse(args), "test");
+    }
+
+    @Test
+    public void testMixWeighting() {
+        GeneratedWorkload workload = workload("--mix", "create=1,update=2,list=3,get=4");
+        workload.create();
+
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        int draws = 100_000;
+        for (int i = 0; i < draws; i++) {
+            counts.merge(workload.next().operation(), 1, Integer::sum);
+        }
+
+        assertEquals(0.1, counts.get(Operation.CREATE) / (double) draws, 0.01);
+        assertEquals(0.2, counts.get(Operation.UPDATE) / (double) draws, 0.01);
+        assertEquals(0.3, counts.get(Operation.LIST) / (double) draws, 0.01);
+        assertEquals(0.4, counts.get(Operation.GET) / (double) draws, 0.01);
+    }
+
+    @Test
+    public void testZeroWeightIsNeverPicked() {
+        GeneratedWorkload workload = workload("--mix", "create=0,update=0,list=1,get=0");
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Operation.LIST, workload.next().operation());
+        }
+    }
+
+    @Test
+    public void testUpdatesAndGetsTargetCreatedTransactions() {
+        GeneratedWorkload workload = workload("--mix", "create=1,update=1,get=1");
+        Set<String> created = new HashSet<>();
+
+        for (int i = 0; i < 1000; i++) {
+            RequestSpec spec = workload.next();
+            switch (spec.operation()) {
+                case CREATE -> created.add(spec.transactionId());
+                case UPDATE -> assertTrue(created.contains(spec.body().substring(7, spec.body().indexOf('"', 7))),
+                        spec.body());
+                case GET -> assertTrue(created.contains(spec.path().substring(spec.path().lastIndexOf('/') + 1)),
+                        spec.path());
+                // nothing is created yet, gets fall back to lists
+                case LIST -> assertTrue(created.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void testSameSeedGivesSameRequests() {
+        GeneratedWorkload first = workload("--seed", "7");
+        GeneratedWorkload second = workload("--seed", "7");
+        for (int i = 0; i < 10; i++) {
+            first.create();
+            second.create();
+        }
+
+        List<RequestSpec> expected = new ArrayList<>();
+        List<RequestSpec> actual = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(first.next());
+            actual.add(second.next());
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testCreateRequest() {
+        GeneratedWorkload workload = workload();
+
+        RequestSpec create = workload.create();
+
+        assertEquals(Operation.CREATE, create.operation());
+        assertEquals("POST", create.method());
+        assertEquals("/api/v1/transactions/create", create.path());
+        assertEquals("test-0", create.transactionId());
+        assertTrue(create.body().startsWith("{\"id\":\"test-0\""));
+        assertEquals(-1, create.offsetNanos());
+        assertEquals("test-1", workload.create().transactionId());
+    }
+}
@@ -0,0 +1,41 @@
+package org.ayle.transaction.loadgen;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyReportTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testErrorsKeepTheirLatencyApart() throws IOException {
+        LatencyReport report = new LatencyReport();
+        report.recordSuccess(Operation.GET, TimeUnit.MILLISECONDS.toNanos(2));
+        report.recordSuccess(Operation.GET, TimeUnit.MILLISECONDS.toNanos(2));
+        report.recordError(Operation.GET, TimeUnit.SECONDS.toNanos(30));
+
+        report.write(directory, 1000, "");
+
+        List<String> summary = Files.readAllLines(directory.resolve("summary.txt"));
+        String[] get = summary.get(1).trim().split("\\s+");
+        assertEquals("get", get[0]);
+        assertEquals("2", get[1]);
+        assertEquals("1", get[2]);
+        assertEquals(3.0, Double.parseDouble(get[3]), 0.01);
+        // the successes are not slowed down by the timeout, which shows up in the error columns
+        assertEquals(2.0, Double.parseDouble(get[8]), 0.01);
+        assertEquals(30_000, Double.parseDouble(get[10]), 30);
+        assertTrue(Files.exists(directory.resolve("get.hgrm")));
+        assertTrue(Files.exists(directory.resolve("get-errors.hgrm")));
+        assertFalse(Files.exists(directory.resolve("list-errors.hgrm")));
+    }
+}
@@ -0,0 +1,75 @@
+package org.ayle.transaction.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadGeneratorOptionsTest {
+
+    @Test
+    public void testDefaults() {
+        LoadGeneratorOptions options = LoadGeneratorOptions.parse(new String[0]);
+
+        assertEquals("http://localhost:8080", options.getBaseUrl());
+        assertEquals(200, options.getRate());
+        assertEquals(Duration.ofSeconds(60), options.getDuration());
+        assertEquals(Duration.ofSeconds(10), options.getWarmup());
+        assertTrue(options.isPoisson());
+        assertEquals(Map.of(Operation.CREATE, 20, Operation.UPDATE, 10, Operation.LIST, 50, Operation.GET, 20),
+                options.getMix());
+        assertEquals(1000, options.getPrefill());
+        assertNull(options.getReplay());
+    }
+
+    @Test
+    public void testParseAllOptions() {
+        LoadGeneratorOptions options = LoadGeneratorOptions.parse(new String[]{
+                "--base-url", "http://host:9090/", "--rate", "500", "--duration", "120", "--warmup", "20",
+                "--arrival", "uniform", "--mix", "list=3, get=1", "--prefill", "10", "--list-pages", "5",
+                "--seed", "7", "--speed", "2.5", "--output", "reports"});
+
+        assertEquals("http://host:9090", options.getBaseUrl());
+        assertEquals(500, options.getRate());
+        assertEquals(Duration.ofSeconds(120), options.getDuration());
+        assertEquals(Duration.ofSeconds(20), options.getWarmup());
+        assertFalse(options.isPoisson());
+        assertEquals(Map.of(Operation.LIST, 3, Operation.GET, 1), options.getMix());
+        assertEquals(10, options.getPrefill());
+        assertEquals(5, options.getListPages());
+        assertEquals(7, options.getSeed());
+        assertEquals(2.5, options.getSpeed());
+        assertEquals(Path.of("reports"), options.getOutput());
+    }
+
+    @Test
+    public void testReplaySkipsPrefillUnlessGiven() {
+        LoadGeneratorOptions replay = LoadGeneratorOptions.parse(new String[]{"--replay", "workload.jsonl"});
+        assertEquals(Path.of("workload.jsonl"), replay.getReplay());
+        assertEquals(0, replay.getPrefill());
+
+        LoadGeneratorOptions explicit = LoadGeneratorOptions.parse(new String[]{"--prefill", "50", "--replay", "workload.jsonl"});
+        assertEquals(50, explicit.getPrefill());
+    }
+
+    @Test
+    public void testInvalidOptions() {
+        assertInvalid("Unknown option --threads", "--threads", "4");
+        assertInvalid("Missing value for --rate", "--rate");
+        assertInvalid("--rate must be positive", "--rate", "0");
+        assertInvalid("Unknown arrival type bursty", "--arrival", "bursty");
+        assertInvalid("Invalid mix entry list", "--mix", "list");
+        assertInvalid("Invalid mix weight get=-1", "--mix", "list=1,get=-1");
+        assertInvalid("The mix must contain at least one operation", "--mix", "list=0");
+        assertInvalid("Warmup must be shorter than the duration", "--duration", "10", "--warmup", "10");
+        assertThrows(IllegalArgumentException.class, () -> LoadGeneratorOptions.parse(new String[]{"--mix", "delete=1"}));
+    }
+
+    private static void assertInvalid(String message, String... args) {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> LoadGeneratorOptions.parse(args));
+        assertEquals(message, exception.getMessage());
+    }
+}
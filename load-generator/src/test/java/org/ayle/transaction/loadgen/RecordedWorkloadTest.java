@@ -0,0 +1,73 @@
+package org.ayle.transaction.loadgen;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecordedWorkloadTest {
+
+    @TempDir
+    Path directory;
+
+    private RecordedWorkload load(double speed, String... lines) throws IOException {
+        Path file = directory.resolve("workload.jsonl");
+        Files.write(file, List.of(lines));
+        return RecordedWorkload.load(file, speed);
+    }
+
+    @Test
+    public void testLoad() throws IOException {
+        RecordedWorkload workload = load(1.0,
+                "{\"operation\":\"create\",\"path\":\"/api/v1/transactions/create\",\"body\":{\"id\":\"r-1\",\"amount\":\"1.00\"},\"offsetMs\":0}",
+                "",
+                "{\"operation\":\"GET\",\"path\":\"/api/v1/transactions/r-1\",\"offsetMs\":250}",
+                "{\"operation\":\"UPDATE\",\"method\":\"PUT\",\"path\":\"/api/v1/transactions/update\",\"body\":{\"id\":\"r-1\"}}");
+
+        assertEquals(new RequestSpec(Operation.CREATE, "POST", "/api/v1/transactions/create",
+                "{\"id\":\"r-1\",\"amount\":\"1.00\"}", "r-1", 0), workload.next());
+        assertEquals(new RequestSpec(Operation.GET, "GET", "/api/v1/transactions/r-1", null, null, 250_000_000L),
+                workload.next());
+        // an explicit method is kept, only creates record the transaction ID, no offset uses the arrival rate
+        assertEquals(new RequestSpec(Operation.UPDATE, "PUT", "/api/v1/transactions/update", "{\"id\":\"r-1\"}", null, -1),
+                workload.next());
+        assertNull(workload.next());
+    }
+
+    @Test
+    public void testSpeedScalesOffsets() throws IOException {
+        RecordedWorkload faster = load(2.0,
+                "{\"operation\":\"LIST\",\"path\":\"/api/v1/transactions/list\",\"offsetMs\":1000}",
+                "{\"operation\":\"LIST\",\"path\":\"/api/v1/transactions/list\"}");
+        assertEquals(500_000_000L, faster.next().offsetNanos());
+        assertEquals(-1, faster.next().offsetNanos());
+
+        RecordedWorkload slower = load(0.5, "{\"operation\":\"LIST\",\"path\":\"/api/v1/transactions/list\",\"offsetMs\":1000}");
+        assertEquals(2_000_000_000L, slower.next().offsetNanos());
+    }
+
+    @Test
+    public void testSampleWorkload() throws IOException {
+        RecordedWorkload workload = RecordedWorkload.load(Path.of("src/main/resources/sample-workload.jsonl"), 1.0);
+
+        RequestSpec first = workload.next();
+        assertEquals(Operation.CREATE, first.operation());
+        assertEquals("sample-1", first.transactionId());
+        int count = 1;
+        while (workload.next() != null) {
+            count++;
+        }
+        assertEquals(Files.readAllLines(Path.of("src/main/resources/sample-workload.jsonl")).stream()
+                .filter(line -> !line.isBlank()).count(), count);
+    }
+
+    @Test
+    public void testInvalidLine() {
+        assertThrows(IOException.class, () -> load(1.0, "{\"operation\":"));
+    }
+}
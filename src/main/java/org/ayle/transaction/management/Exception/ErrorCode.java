@@ -8,7 +8,11 @@ public enum ErrorCode {
     TRANSACTION_ALREADY_EXISTS("1001", "Transaction ID already exists"),
     TRANSACTION_NOT_FOUND("1002", "Transaction not found"),
     INVALID_TRANSACTION_CATEGORY("1003", "Invalid category for the specified transaction type"),
-    COUNTERPARTY_ACCOUNT_REQUIRED("1004", "Counterparty account is required for transfer transactions")
+    COUNTERPARTY_ACCOUNT_REQUIRED("1004", "Counterparty account is required for transfer transactions"),
+    INVALID_AMOUNT("1005", "Amount has more decimal places than the currency allows or is too large"),
+    INVALID_CURRENCY("1006", "Unsupported currency"),
+    INVALID_STATUS_TRANSITION("1007", "Transaction status cannot be changed to the requested status"),
+    TRANSACTION_VERSION_CONFLICT("1008", "Transaction does not match the expected version or status")
     ;
 
     private final String code;
@@ -3,9 +3,11 @@ package org.ayle.transaction.management;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableCaching //todo
+@EnableScheduling
 public class TransactionManagementApplication {
 
     public static void main(String[] args) {
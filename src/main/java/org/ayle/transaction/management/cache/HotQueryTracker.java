@@ -0,0 +1,184 @@
+package org.ayle.transaction.management.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.ayle.transaction.management.model.TransactionListRequest;
+import org.ayle.transaction.management.service.TransactionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks the most frequent list queries and keeps their pages in {@code transactionsCache}.
+ * The hot queries are persisted on shutdown and preloaded on startup, and the pages dropped from
+ * the cache by writes are recomputed in the background instead of on the next request.
+ * Requests only bump a lock-free counter; the counts are folded into the sketch in the background.
+ */
+@Slf4j
+@Component
+public class HotQueryTracker {
+
+    static final String CACHE_NAME = "transactionsCache";
+
+    /**
+     * Distinct queries counted between two drains, per tracked query; queries beyond it are not counted.
+     */
+    static final int PENDING_KEYS_PER_CAPACITY = 16;
+
+    private final TransactionService transactionService;
+
+    private final CacheManager cacheManager;
+
+    private final SpaceSavingSketch<String> sketch;
+
+    /**
+     * Occurrences recorded since the last drain into the sketch.
+     */
+    private final ConcurrentHashMap<String, LongAdder> pending = new ConcurrentHashMap<>();
+
+    private final int maxPendingKeys;
+
+    private final Path file;
+
+    public HotQueryTracker(TransactionService transactionService, CacheManager cacheManager,
+                           @Value("${transaction.cache.hot-queries.capacity:64}") int capacity,
+                           @Value("${transaction.cache.hot-queries.file:hot-queries.txt}") String file) {
+        this.transactionService = transactionService;
+        this.cacheManager = cacheManager;
+        this.sketch = new SpaceSavingSketch<>(capacity);
+        this.maxPendingKeys = capacity * PENDING_KEYS_PER_CAPACITY;
+        this.file = Path.of(file);
+    }
+
+    /**
+     * Records a list query.
+     *
+     * @param request The request object containing filtering criteria.
+     */
+    public void record(TransactionListRequest request) {
+        String key = request.generateCacheKey();
+        LongAdder count = pending.get(key);
+        if (count == null) {
+            if (pending.size() >= maxPendingKeys) {
+                // a burst of distinct queries is sampled rather than letting the buffer grow
+                return;
+            }
+            count = pending.computeIfAbsent(key, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    /**
+     * Returns the tracked queries, most frequent first.
+     *
+     * @return The cache keys of the tracked queries with their estimated counts.
+     */
+    public List<Map.Entry<String, Long>> getHotQueries() {
+        drain();
+        return sketch.top();
+    }
+
+    /**
+     * Loads the hot queries persisted by the previous run and preloads their pages.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (Files.exists(file)) {
+            try {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    String[] fields = line.split("\t");
+                    if (fields.length == 2) {
+                        // halve the persisted counts so that old traffic gradually loses weight
+                        sketch.offer(fields[1], Math.max(1, Long.parseLong(fields[0]) / 2));
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                log.warn("Could not load hot queries from {}", file, e);
+            }
+        }
+        refreshHotQueries();
+    }
+
+    /**
+     * Recomputes the pages of the hot queries that are missing from the cache.
+     * Cached pages are only dropped by writes, so pages still present are up to date.
+     */
+    @Scheduled(initialDelayString = "${transaction.cache.hot-queries.refresh-interval:30000}",
+            fixedDelayString = "${transaction.cache.hot-queries.refresh-interval:30000}")
+    public void refreshHotQueries() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        for (Map.Entry<String, Long> entry : getHotQueries()) {
+            if (cache.get(entry.getKey()) == null) {
+                refresh(cache, entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Folds the occurrences recorded since the last drain into the sketch, the most frequent last,
+     * so that they are the ones left when the sketch has to replace keys.
+     * An occurrence recorded on a counter just after it was drained is not counted, which the sketch tolerates.
+     */
+    private void drain() {
+        List<Map.Entry<String, Long>> counts = new ArrayList<>();
+        for (String key : pending.keySet()) {
+            LongAdder count = pending.remove(key);
+            if (count != null) {
+                counts.add(Map.entry(key, count.sum()));
+            }
+        }
+        counts.sort(Map.Entry.comparingByValue());
+        counts.forEach(entry -> sketch.offer(entry.getKey(), entry.getValue()));
+    }
+
+    private void refresh(Cache cache, String key) {
+        TransactionListRequest request;
+        try {
+            request = TransactionListRequest.fromCacheKey(key);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring invalid hot query {}", key);
+            return;
+        }
+        long modificationCount = transactionService.getModificationCount();
+        cache.put(key, transactionService.streamTransactions(request).collect(Collectors.toList()));
+        // a write that completed meanwhile may not be reflected in the page; its eviction may also have run already
+        if (transactionService.getModificationCount() != modificationCount) {
+            cache.evict(key);
+        }
+    }
+
+    /**
+     * Persists the hot queries so that the next run can preload them.
+     */
+    @PreDestroy
+    public void persist() {
+        List<Map.Entry<String, Long>> hotQueries = getHotQueries();
+        if (hotQueries.isEmpty()) {
+            return;
+        }
+        try {
+            Files.write(file, hotQueries.stream().map(e -> e.getValue() + "\t" + e.getKey()).toList(),
+                    StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("Could not persist hot queries to {}", file, e);
+        }
+    }
+}
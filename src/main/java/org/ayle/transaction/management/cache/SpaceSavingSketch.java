@@ -0,0 +1,64 @@
+package org.ayle.transaction.management.cache;
+
+import java.util.*;
+
+/**
+ * Heavy-hitters sketch using the Space-Saving algorithm.
+ * Tracks at most {@code capacity} keys; when a new key arrives and the sketch is full,
+ * it replaces the least frequent key and inherits its count, so the count of a key is
+ * overestimated by at most the count of the key it replaced.
+ *
+ * @param <K> The type of the tracked keys.
+ */
+public class SpaceSavingSketch<K> {
+
+    private final int capacity;
+
+    private final Map<K, Long> counts;
+
+    public SpaceSavingSketch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counts = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Records one occurrence of a key.
+     *
+     * @param key The key to record.
+     */
+    public void offer(K key) {
+        offer(key, 1);
+    }
+
+    /**
+     * Records several occurrences of a key.
+     *
+     * @param key   The key to record.
+     * @param count The number of occurrences.
+     */
+    public synchronized void offer(K key, long count) {
+        Long current = counts.get(key);
+        if (current != null || counts.size() < capacity) {
+            counts.put(key, (current == null ? 0 : current) + count);
+            return;
+        }
+        Map.Entry<K, Long> min = Collections.min(counts.entrySet(), Map.Entry.comparingByValue());
+        counts.remove(min.getKey());
+        counts.put(key, min.getValue() + count);
+    }
+
+    /**
+     * Returns the tracked keys, most frequent first.
+     *
+     * @return The tracked keys with their estimated counts.
+     */
+    public synchronized List<Map.Entry<K, Long>> top() {
+        List<Map.Entry<K, Long>> entries = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> entries.add(Map.entry(key, count)));
+        entries.sort(Map.Entry.<K, Long>comparingByValue().reversed());
+        return entries;
+    }
+}
@@ -0,0 +1,43 @@
+package org.ayle.transaction.management.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.ayle.transaction.management.expiry.PendingTransactionExpirer;
+import org.ayle.transaction.management.expiry.PendingTransactionTimeouts;
+import org.ayle.transaction.management.service.TransactionService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes the application metrics, available under {@code /actuator/metrics}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder transactionListMetrics(TransactionService transactionService) {
+        return registry -> {
+            FunctionCounter.builder("transactions.list.executions", transactionService,
+                            TransactionService::getListExecutionCount)
+                    .description("List queries that scanned the store")
+                    .register(registry);
+            FunctionCounter.builder("transactions.list.coalesced", transactionService,
+                            TransactionService::getListCoalescedCount)
+                    .description("List queries that shared the scan of an identical concurrent query")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder pendingExpiryMetrics(PendingTransactionTimeouts timeouts, PendingTransactionExpirer expirer) {
+        return registry -> {
+            Gauge.builder("transactions.expiry.timers", timeouts, PendingTransactionTimeouts::getTimerCount)
+                    .description("Pending transactions with a running expiry timer")
+                    .register(registry);
+            FunctionCounter.builder("transactions.expired", expirer, PendingTransactionExpirer::getExpiredCount)
+                    .description("Pending transactions moved to the expiry status after their timeout")
+                    .register(registry);
+        };
+    }
+}
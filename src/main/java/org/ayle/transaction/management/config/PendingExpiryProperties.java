@@ -0,0 +1,41 @@
+package org.ayle.transaction.management.config;
+
+import lombok.Data;
+import org.ayle.transaction.management.enums.TransactionCategory;
+import org.ayle.transaction.management.enums.TransactionStatus;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Expiry of transactions that stay {@code PENDING}, bound from {@code transaction.expiry.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "transaction.expiry")
+public class PendingExpiryProperties {
+
+    /**
+     * Time after creation at which a pending transaction expires, per category.
+     * Pending transactions of categories without a timeout never expire.
+     */
+    private Map<TransactionCategory, Duration> timeouts = new EnumMap<>(TransactionCategory.class);
+
+    /**
+     * Status an expired transaction is moved to, FAILED or CANCELLED.
+     */
+    private TransactionStatus targetStatus = TransactionStatus.FAILED;
+
+    /**
+     * Interval in milliseconds between expiry runs, also the resolution of the timeouts.
+     */
+    private long tickInterval = 1000;
+
+    /**
+     * Number of buckets per level of the timing wheel.
+     */
+    private int wheelSize = 512;
+}
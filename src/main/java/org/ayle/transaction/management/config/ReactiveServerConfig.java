@@ -0,0 +1,22 @@
+package org.ayle.transaction.management.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.reactive.server.ReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Runs the application on Reactor Netty when the {@code reactive} profile is active.
+ * Tomcat stays on the classpath for the default Spring MVC stack, and Spring Boot would otherwise
+ * prefer it for the reactive server as well.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveServerConfig {
+
+    @Bean
+    public ReactiveWebServerFactory reactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
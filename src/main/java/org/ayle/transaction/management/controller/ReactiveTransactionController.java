@@ -0,0 +1,170 @@
+package org.ayle.transaction.management.controller;
+
+import org.ayle.transaction.management.Exception.ErrorCode;
+import org.ayle.transaction.management.Exception.TransactionException;
+import org.ayle.transaction.management.cache.HotQueryTracker;
+import org.ayle.transaction.management.entity.Transaction;
+import org.ayle.transaction.management.model.ConditionalUpdateRequest;
+import org.ayle.transaction.management.model.TransactionListRequest;
+import org.ayle.transaction.management.model.TransactionRequest;
+import org.ayle.transaction.management.model.TransactionSearchRequest;
+import org.ayle.transaction.management.service.TransactionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive REST controller for managing transactions.
+ * Exposes the same operations as {@link TransactionController} using {@link Mono} and {@link Flux},
+ * so that slow clients do not pin a server thread while their response is written.
+ * Point reads and writes on the in-memory store run on the calling event-loop thread, while list and search
+ * queries, whose cost grows with the page requested, run on {@link Schedulers#boundedElastic()}.
+ */
+@RestController
+@RequestMapping("/api/v2/transactions")
+public class ReactiveTransactionController {
+
+    private final TransactionService transactionService;
+
+    private final HotQueryTracker hotQueryTracker;
+
+    public ReactiveTransactionController(TransactionService transactionService, HotQueryTracker hotQueryTracker) {
+        this.transactionService = transactionService;
+        this.hotQueryTracker = hotQueryTracker;
+    }
+
+    /**
+     * Lists transactions based on the provided request parameters as a JSON array.
+     * Pages are served from {@code transactionsCache} and concurrent identical queries share one scan,
+     * as on {@link TransactionController}; the scan itself runs off the event loop.
+     *
+     * @param request The request object containing filtering criteria.
+     * @return A stream of transactions matching the criteria.
+     */
+    @RequestMapping(value = "/list", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<Transaction> listTransactions(@Validated TransactionListRequest request) {
+        hotQueryTracker.record(request);
+        return Mono.fromCallable(() -> transactionService.listTransactions(request))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(transactions -> transactions);
+    }
+
+    /**
+     * Lists transactions as newline delimited JSON, for clients that request {@code application/x-ndjson}.
+     *
+     * @param request The request object containing filtering criteria.
+     * @return A stream of transactions matching the criteria, written one per line.
+     */
+    @RequestMapping(value = "/list", method = RequestMethod.GET, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Transaction> listTransactionsAsNdjson(@Validated TransactionListRequest request) {
+        return listTransactions(request);
+    }
+
+    /**
+     * Searches transactions by free text over their description and primary account, as a JSON array.
+     *
+     * @param request The request object containing the query and filtering criteria.
+     * @return A stream of transactions matching the query.
+     */
+    @RequestMapping(value = "/search", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<Transaction> searchTransactions(@Validated TransactionSearchRequest request) {
+        return Mono.fromCallable(() -> transactionService.searchTransactions(request))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(transactions -> transactions);
+    }
+
+    /**
+     * Searches transactions as newline delimited JSON, for clients that request {@code application/x-ndjson}.
+     *
+     * @param request The request object containing the query and filtering criteria.
+     * @return A stream of transactions matching the query, written one per line.
+     */
+    @RequestMapping(value = "/search", method = RequestMethod.GET, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Transaction> searchTransactionsAsNdjson(@Validated TransactionSearchRequest request) {
+        return searchTransactions(request);
+    }
+
+    /**
+     * Retrieves a transaction by its ID.
+     *
+     * @param id The ID of the transaction to retrieve.
+     * @return The transaction or an error response.
+     */
+    @RequestMapping(value = "/{id}", method = RequestMethod.GET)
+    public Mono<ResponseEntity<?>> getTransaction(@PathVariable String id) {
+        return Mono.<ResponseEntity<?>>fromCallable(() -> ResponseEntity.ok(transactionService.getTransaction(id)))
+                .onErrorResume(TransactionException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage())))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null)));
+    }
+
+    /**
+     * Creates a new transaction.
+     *
+     * @param request The request object containing transaction details.
+     * @return A success message or an error response.
+     */
+    @RequestMapping(value = "/create", method = RequestMethod.POST)
+    public Mono<ResponseEntity<String>> createTransaction(@Validated @RequestBody TransactionRequest request) {
+        return handle(Mono.fromCallable(() -> transactionService.createTransaction(request)));
+    }
+
+    /**
+     * Updates an existing transaction.
+     *
+     * @param request The request object containing updated transaction details.
+     * @return A success message or an error response.
+     */
+    @RequestMapping(value = "/update", method = RequestMethod.POST)
+    public Mono<ResponseEntity<String>> updateTransaction(@Validated @RequestBody TransactionRequest request) {
+        return handle(Mono.fromCallable(() -> transactionService.updateTransaction(request)));
+    }
+
+    /**
+     * Updates an existing transaction only if it has the expected version and/or status.
+     *
+     * @param request The request object containing updated transaction details and the expectations.
+     * @return The updated transaction, a conflict if the expectations do not match, or an error response.
+     */
+    @RequestMapping(value = "/update/conditional", method = RequestMethod.POST)
+    public Mono<ResponseEntity<?>> conditionalUpdateTransaction(@Validated @RequestBody ConditionalUpdateRequest request) {
+        return Mono.<ResponseEntity<?>>fromCallable(() -> ResponseEntity.ok(transactionService.conditionalUpdateTransaction(request)))
+                .onErrorResume(TransactionException.class, e -> Mono.just(ResponseEntity.status(
+                        e.getErrorCode() == ErrorCode.TRANSACTION_VERSION_CONFLICT ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST)
+                        .body(e.getMessage())))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null)));
+    }
+
+    /**
+     * Deletes a transaction by its ID.
+     *
+     * @param id The ID of the transaction to delete.
+     * @return A success message or an error response.
+     */
+    @RequestMapping(value = "/delete/{id}", method = RequestMethod.POST)
+    public Mono<ResponseEntity<String>> deleteTransaction(@PathVariable String id) {
+        return handle(Mono.fromCallable(() -> {
+            transactionService.deleteTransaction(id);
+            return "Transaction deleted successfully.";
+        }));
+    }
+
+    /**
+     * Maps the outcome of a service call to the same responses as the blocking controller.
+     *
+     * @param result The deferred service call.
+     * @return The response entity for the call.
+     */
+    private Mono<ResponseEntity<String>> handle(Mono<String> result) {
+        return result.map(ResponseEntity::ok)
+                .onErrorResume(TransactionException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage())))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null)));
+    }
+
+}
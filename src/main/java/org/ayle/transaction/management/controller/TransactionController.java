@@ -1,9 +1,13 @@
 package org.ayle.transaction.management.controller;
 
+import org.ayle.transaction.management.Exception.ErrorCode;
 import org.ayle.transaction.management.Exception.TransactionException;
+import org.ayle.transaction.management.cache.HotQueryTracker;
 import org.ayle.transaction.management.entity.Transaction;
+import org.ayle.transaction.management.model.ConditionalUpdateRequest;
 import org.ayle.transaction.management.model.TransactionListRequest;
 import org.ayle.transaction.management.model.TransactionRequest;
+import org.ayle.transaction.management.model.TransactionSearchRequest;
 import org.ayle.transaction.management.service.TransactionService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,7 +18,7 @@ import java.util.List;
 
 /**
  * REST controller for managing transactions.
- * Provides endpoints to list, create, update, and delete transactions.
+ * Provides endpoints to list, search, get, create, update, and delete transactions.
  */
 @RestController
 @RequestMapping("/api/v1/transactions")
@@ -22,8 +26,11 @@ public class TransactionController {
 
     private final TransactionService transactionService;
 
-    public TransactionController(TransactionService transactionService) {
+    private final HotQueryTracker hotQueryTracker;
+
+    public TransactionController(TransactionService transactionService, HotQueryTracker hotQueryTracker) {
         this.transactionService = transactionService;
+        this.hotQueryTracker = hotQueryTracker;
     }
 
     /**
@@ -34,9 +41,38 @@ public class TransactionController {
      */
     @RequestMapping(value = "/list", method = RequestMethod.GET)
     public ResponseEntity<List<Transaction>> listTransactions(@Validated TransactionListRequest request) {
+        hotQueryTracker.record(request);
         return ResponseEntity.ok(transactionService.listTransactions(request));
     }
 
+    /**
+     * Searches transactions by free text over their description and primary account.
+     *
+     * @param request The request object containing the query and filtering criteria.
+     * @return A list of transactions matching the query.
+     */
+    @RequestMapping(value = "/search", method = RequestMethod.GET)
+    public ResponseEntity<List<Transaction>> searchTransactions(@Validated TransactionSearchRequest request) {
+        return ResponseEntity.ok(transactionService.searchTransactions(request));
+    }
+
+    /**
+     * Retrieves a transaction by its ID.
+     *
+     * @param id The ID of the transaction to retrieve.
+     * @return The transaction or an error response.
+     */
+    @RequestMapping(value = "/{id}", method = RequestMethod.GET)
+    public ResponseEntity<?> getTransaction(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(transactionService.getTransaction(id));
+        } catch (TransactionException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     /**
      * Creates a new transaction.
      *
@@ -71,6 +107,24 @@ public class TransactionController {
         }
     }
 
+    /**
+     * Updates an existing transaction only if it has the expected version and/or status.
+     *
+     * @param request The request object containing updated transaction details and the expectations.
+     * @return The updated transaction, a conflict if the expectations do not match, or an error response.
+     */
+    @RequestMapping(value = "/update/conditional", method = RequestMethod.POST)
+    public ResponseEntity<?> conditionalUpdateTransaction(@Validated @RequestBody ConditionalUpdateRequest request) {
+        try {
+            return ResponseEntity.ok(transactionService.conditionalUpdateTransaction(request));
+        } catch (TransactionException e) {
+            HttpStatus status = e.getErrorCode() == ErrorCode.TRANSACTION_VERSION_CONFLICT ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     /**
      * Deletes a transaction by its ID.
      *
@@ -0,0 +1,50 @@
+package org.ayle.transaction.management.entity;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Conversions between decimal amounts and amounts stored as a {@code long} in minor units of a currency,
+ * e.g. cents for USD or yen for JPY. The scale is the default number of fraction digits of the currency.
+ */
+public final class Money {
+
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+
+    private static final int MAX_LONG_DIGITS = String.valueOf(Long.MAX_VALUE).length();
+
+    private Money() {
+    }
+
+    /**
+     * Converts a decimal amount to minor units without rounding.
+     *
+     * @param amount   The decimal amount.
+     * @param currency The currency of the amount.
+     * @return The amount in minor units.
+     * @throws ArithmeticException If the amount has more fraction digits than the currency or does not fit in a long.
+     */
+    public static long toMinorUnits(BigDecimal amount, Currency currency) {
+        // check the magnitude before scaling, rescaling an amount such as 1E10000000 builds its full unscaled value
+        BigDecimal stripped = amount.stripTrailingZeros();
+        int digits = currency.getDefaultFractionDigits();
+        if (stripped.scale() > digits) {
+            throw new ArithmeticException("Amount has more than " + digits + " fraction digits");
+        }
+        if ((long) stripped.precision() - stripped.scale() + digits > MAX_LONG_DIGITS) {
+            throw new ArithmeticException("Amount does not fit in a long");
+        }
+        return stripped.movePointRight(digits).longValueExact();
+    }
+
+    /**
+     * Converts an amount in minor units to a decimal amount.
+     *
+     * @param minorUnits The amount in minor units.
+     * @param currency   The currency of the amount.
+     * @return The decimal amount, scaled to the fraction digits of the currency.
+     */
+    public static BigDecimal toDecimal(long minorUnits, Currency currency) {
+        return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+    }
+}
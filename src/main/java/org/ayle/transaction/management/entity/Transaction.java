@@ -1,6 +1,9 @@
 package org.ayle.transaction.management.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.ayle.transaction.management.enums.TransactionCategory;
@@ -10,8 +13,10 @@ import org.ayle.transaction.management.enums.TransactionType;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Currency;
 
 @Data
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class Transaction implements Serializable {
@@ -24,7 +29,13 @@ public class Transaction implements Serializable {
 
     private TransactionStatus status;
 
-    private BigDecimal amount;
+    /**
+     * Amount in minor units of {@link #currency}, see {@link Money}.
+     */
+    @JsonIgnore
+    private long amountMinor;
+
+    private Currency currency;
 
     private String description;
 
@@ -40,5 +51,26 @@ public class Transaction implements Serializable {
 
     private LocalDateTime createTime;
 
+    /**
+     * Creation time in epoch milliseconds, the same instant as {@link #createTime} without its time zone.
+     */
+    @JsonIgnore
+    private long createTimeMillis;
+
     private LocalDateTime updateTime;
+
+    /**
+     * Incremented on every change, stored records are never modified in place.
+     */
+    private long version;
+
+    /**
+     * Returns the amount as a decimal, scaled to the fraction digits of the currency.
+     *
+     * @return The decimal amount, or null if the currency is not set.
+     */
+    @JsonProperty("amount")
+    public BigDecimal getAmount() {
+        return currency == null ? null : Money.toDecimal(amountMinor, currency);
+    }
 }
@@ -0,0 +1,5 @@
+package org.ayle.transaction.management.enums;
+
+public enum SearchOrder {
+    RELEVANCE, RECENT
+}
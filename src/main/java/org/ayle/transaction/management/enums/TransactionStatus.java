@@ -1,5 +1,24 @@
 package org.ayle.transaction.management.enums;
 
 public enum TransactionStatus {
-    PENDING, CANCELLED, COMPLETED, FAILED, DELETED
+    PENDING, CANCELLED, COMPLETED, FAILED, DELETED;
+
+    /**
+     * Checks whether a transaction in this status may be moved to the target status.
+     * A pending transaction can be settled, and any transaction can be deleted. Keeping the
+     * current status is allowed unless the transaction is deleted.
+     *
+     * @param target The target status.
+     * @return True if the transition is allowed.
+     */
+    public boolean canTransitionTo(TransactionStatus target) {
+        if (this == target) {
+            return this != DELETED;
+        }
+        return switch (this) {
+            case PENDING -> target == COMPLETED || target == FAILED || target == CANCELLED || target == DELETED;
+            case CANCELLED, COMPLETED, FAILED -> target == DELETED;
+            case DELETED -> false;
+        };
+    }
 }
\ No newline at end of file
@@ -0,0 +1,261 @@
+package org.ayle.transaction.management.expiry;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for a large number of timers that are usually cancelled before they fire.
+ * Level 0 has one bucket per tick, every further level has buckets {@code wheelSize} times as wide, and the
+ * timers of a higher level bucket are moved down when the lower level wraps around to it.
+ * Scheduling and cancelling are O(1) and never block: callers only enqueue the timer or flip its state,
+ * and the thread calling {@link #advance(long, Consumer)} links and unlinks the timers in their buckets.
+ *
+ * @param <T> The payload type of the timers.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+
+    private final int wheelSize;
+
+    /**
+     * Width of a bucket in ticks, per level.
+     */
+    private final long[] spans = new long[LEVELS];
+
+    /**
+     * Sentinel of the circular list of timers in each bucket, per level.
+     */
+    private final Timeout<T>[][] buckets;
+
+    /**
+     * Longest delay that fits in the wheel, timers further out are parked in the last bucket reached.
+     */
+    private final long maxDelayTicks;
+
+    private final Queue<Timeout<T>> added = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Timeout<T>> cancelled = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong size = new AtomicLong();
+
+    private long currentTick;
+
+    /**
+     * @param tickMillis  The resolution of the wheel, timers fire at most one tick late.
+     * @param wheelSize   The number of buckets per level.
+     * @param startMillis The current time.
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Tick must be positive and the wheel needs at least 2 buckets");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.buckets = new Timeout[LEVELS][wheelSize];
+        long span = 1;
+        for (int level = 0; level < LEVELS; level++) {
+            spans[level] = span;
+            for (int index = 0; index < wheelSize; index++) {
+                buckets[level][index] = new Timeout<>(null, null, 0, 0);
+            }
+            span = Math.multiplyExact(span, wheelSize);
+        }
+        this.maxDelayTicks = span - 1;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules a timer. It is linked into the wheel on the next call to {@link #advance(long, Consumer)}.
+     *
+     * @param payload        The payload handed to the expiry callback.
+     * @param deadlineMillis The time at or after which the timer fires.
+     * @return The timer, which can be cancelled until it fires.
+     */
+    public Timeout<T> schedule(T payload, long deadlineMillis) {
+        // round up, so that a timer never fires before its deadline
+        long deadlineTick = deadlineMillis / tickMillis + (deadlineMillis % tickMillis == 0 ? 0 : 1);
+        Timeout<T> timeout = new Timeout<>(this, payload, deadlineMillis, deadlineTick);
+        size.incrementAndGet();
+        added.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel to the given time and fires every timer whose deadline has passed.
+     * Must not be called concurrently with itself.
+     *
+     * @param nowMillis The current time.
+     * @param onExpiry  Called with each timer that fired.
+     */
+    public synchronized void advance(long nowMillis, Consumer<Timeout<T>> onExpiry) {
+        Timeout<T> timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            timeout.unlink();
+        }
+        while ((timeout = added.poll()) != null) {
+            if (timeout.state == Timeout.PENDING && !link(timeout)) {
+                fire(timeout, onExpiry);
+            }
+        }
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if (currentTick % spans[level] == 0) {
+                    cascade(buckets[level][(int) (currentTick / spans[level] % wheelSize)], onExpiry);
+                }
+            }
+            Timeout<T> bucket = buckets[0][(int) (currentTick % wheelSize)];
+            while ((timeout = bucket.next) != bucket) {
+                timeout.unlink();
+                fire(timeout, onExpiry);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of timers that have been scheduled and have neither fired nor been cancelled.
+     *
+     * @return The number of pending timers.
+     */
+    public long size() {
+        return size.get();
+    }
+
+    /**
+     * Links a timer into the bucket of the lowest level that covers its deadline.
+     *
+     * @param timeout The timer.
+     * @return False if the deadline has already been reached and the timer was not linked.
+     */
+    private boolean link(Timeout<T> timeout) {
+        long delay = timeout.deadlineTick - currentTick;
+        if (delay <= 0) {
+            return false;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= spans[level + 1]) {
+            level++;
+        }
+        long tick = currentTick + Math.min(delay, maxDelayTicks);
+        buckets[level][(int) (tick / spans[level] % wheelSize)].append(timeout);
+        return true;
+    }
+
+    /**
+     * Moves the timers of a higher level bucket down to the levels that now cover their deadlines.
+     */
+    private void cascade(Timeout<T> bucket, Consumer<Timeout<T>> onExpiry) {
+        Timeout<T> timeout;
+        while ((timeout = bucket.next) != bucket) {
+            timeout.unlink();
+            if (timeout.state == Timeout.PENDING && !link(timeout)) {
+                fire(timeout, onExpiry);
+            }
+        }
+    }
+
+    private void fire(Timeout<T> timeout, Consumer<Timeout<T>> onExpiry) {
+        if (Timeout.STATE.compareAndSet(timeout, Timeout.PENDING, Timeout.EXPIRED)) {
+            size.decrementAndGet();
+            onExpiry.accept(timeout);
+        }
+    }
+
+    /**
+     * A scheduled timer, also used as the sentinel of a bucket.
+     *
+     * @param <T> The payload type.
+     */
+    public static final class Timeout<T> {
+
+        private static final int PENDING = 0;
+
+        private static final int CANCELLED = 1;
+
+        private static final int EXPIRED = 2;
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final HierarchicalTimingWheel<T> wheel;
+
+        private final T payload;
+
+        private final long deadlineMillis;
+
+        private final long deadlineTick;
+
+        private volatile int state;
+
+        // only accessed by the thread advancing the wheel
+        private Timeout<T> prev;
+
+        private Timeout<T> next;
+
+        private Timeout(HierarchicalTimingWheel<T> wheel, T payload, long deadlineMillis, long deadlineTick) {
+            this.wheel = wheel;
+            this.payload = payload;
+            this.deadlineMillis = deadlineMillis;
+            this.deadlineTick = deadlineTick;
+            if (wheel == null) {
+                prev = this;
+                next = this;
+            }
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public long getDeadline() {
+            return deadlineMillis;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        /**
+         * Cancels the timer. The timer is unlinked from its bucket on the next advance of the wheel.
+         *
+         * @return False if the timer has already fired or been cancelled.
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            wheel.size.decrementAndGet();
+            wheel.cancelled.add(this);
+            return true;
+        }
+
+        private void append(Timeout<T> timeout) {
+            timeout.prev = prev;
+            timeout.next = this;
+            prev.next = timeout;
+            prev = timeout;
+        }
+
+        private void unlink() {
+            if (next != null) {
+                prev.next = next;
+                next.prev = prev;
+                prev = null;
+                next = null;
+            }
+        }
+    }
+}
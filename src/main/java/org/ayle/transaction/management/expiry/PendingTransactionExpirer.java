@@ -0,0 +1,101 @@
+package org.ayle.transaction.management.expiry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.ayle.transaction.management.service.TransactionService;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves pending transactions whose timeout has passed to FAILED or CANCELLED.
+ * The timers that fired in a tick are expired as one batch, which evicts the list cache once, and the
+ * ticks run on a dedicated thread so that a large batch does not delay other scheduled tasks.
+ * The expiry is a compare-and-set on the version that was read, after checking that version against its own
+ * deadline, so a transaction that completes or moves to a category with a longer timeout at the same time
+ * is left alone.
+ */
+@Slf4j
+@Component
+public class PendingTransactionExpirer implements SmartLifecycle {
+
+    private final TransactionService transactionService;
+
+    private final PendingTransactionTimeouts timeouts;
+
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+
+    public PendingTransactionExpirer(TransactionService transactionService, PendingTransactionTimeouts timeouts) {
+        this.transactionService = transactionService;
+        this.timeouts = timeouts;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("transaction-expiry").daemon().factory());
+            scheduler.scheduleWithFixedDelay(this::expireStaleTransactions, timeouts.getTickInterval(),
+                    timeouts.getTickInterval(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Expires the pending transactions whose timeout has passed.
+     */
+    public void expireStaleTransactions() {
+        try {
+            expireStaleTransactions(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            // an exception would cancel the periodic task
+            log.error("Failed to expire pending transactions", e);
+        }
+    }
+
+    /**
+     * Expires the pending transactions whose timeout has passed at the given time.
+     *
+     * @param nowMillis The current time.
+     * @return The number of transactions that were expired.
+     */
+    public int expireStaleTransactions(long nowMillis) {
+        List<String> due = timeouts.advance(nowMillis);
+        if (due.isEmpty()) {
+            return 0;
+        }
+        int expired = transactionService.expirePendingTransactions(due, timeouts.getTargetStatus(), nowMillis);
+        if (expired > 0) {
+            expiredCount.addAndGet(expired);
+            log.info("Expired {} pending transactions", expired);
+        }
+        return expired;
+    }
+
+    /**
+     * Returns the number of transactions expired so far.
+     *
+     * @return The expired count.
+     */
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+}
@@ -0,0 +1,139 @@
+package org.ayle.transaction.management.expiry;
+
+import org.ayle.transaction.management.config.PendingExpiryProperties;
+import org.ayle.transaction.management.entity.Transaction;
+import org.ayle.transaction.management.enums.TransactionCategory;
+import org.ayle.transaction.management.enums.TransactionStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one timer per pending transaction whose category has a timeout.
+ * Every new version of a transaction is passed to {@link #track(Transaction)}, which schedules the timer while
+ * the transaction is {@code PENDING} and cancels it once it is not, so that stale pending transactions
+ * can be found without scanning the store.
+ */
+@Component
+public class PendingTransactionTimeouts {
+
+    private final Map<TransactionCategory, Duration> timeouts;
+
+    private final TransactionStatus targetStatus;
+
+    private final long tickInterval;
+
+    private final HierarchicalTimingWheel<String> wheel;
+
+    private final Map<String, HierarchicalTimingWheel.Timeout<String>> timers = new ConcurrentHashMap<>();
+
+    public PendingTransactionTimeouts(PendingExpiryProperties properties) {
+        if (properties.getTargetStatus() != TransactionStatus.FAILED &&
+                properties.getTargetStatus() != TransactionStatus.CANCELLED) {
+            throw new IllegalArgumentException("Expired transactions can only be moved to FAILED or CANCELLED");
+        }
+        this.timeouts = new EnumMap<>(TransactionCategory.class);
+        properties.getTimeouts().forEach((category, timeout) -> {
+            if (timeout != null && timeout.isPositive()) {
+                timeouts.put(category, timeout);
+            }
+        });
+        this.targetStatus = properties.getTargetStatus();
+        this.tickInterval = properties.getTickInterval();
+        this.wheel = new HierarchicalTimingWheel<>(properties.getTickInterval(), properties.getWheelSize(),
+                System.currentTimeMillis());
+    }
+
+    /**
+     * Schedules, moves or cancels the timer of a transaction according to its new version.
+     * A timer scheduled for a version that has already been replaced fires harmlessly, because
+     * the expiry only applies to transactions that are still pending past their own deadline.
+     *
+     * @param transaction The new version of the transaction.
+     */
+    public void track(Transaction transaction) {
+        Duration timeout = transaction.getStatus() == TransactionStatus.PENDING
+                ? timeouts.get(transaction.getCategory()) : null;
+        if (timeout == null) {
+            if (!timers.isEmpty()) {
+                HierarchicalTimingWheel.Timeout<String> timer = timers.remove(transaction.getId());
+                if (timer != null) {
+                    timer.cancel();
+                }
+            }
+            return;
+        }
+        long deadline = transaction.getCreateTimeMillis() + timeout.toMillis();
+        timers.compute(transaction.getId(), (id, timer) -> {
+            if (timer != null) {
+                if (timer.getDeadline() == deadline) {
+                    return timer;
+                }
+                timer.cancel();
+            }
+            return wheel.schedule(id, deadline);
+        });
+    }
+
+    /**
+     * Checks whether a version of a transaction is pending past the timeout of its own category.
+     *
+     * @param transaction The version of the transaction.
+     * @param nowMillis   The current time.
+     * @return True if the transaction is pending and its deadline has passed.
+     */
+    public boolean isExpired(Transaction transaction, long nowMillis) {
+        if (transaction.getStatus() != TransactionStatus.PENDING) {
+            return false;
+        }
+        Duration timeout = timeouts.get(transaction.getCategory());
+        return timeout != null && transaction.getCreateTimeMillis() + timeout.toMillis() <= nowMillis;
+    }
+
+    /**
+     * Advances the timers to the given time.
+     *
+     * @param nowMillis The current time.
+     * @return The IDs of the transactions whose timeout has passed.
+     */
+    public List<String> advance(long nowMillis) {
+        List<String> expired = new ArrayList<>();
+        wheel.advance(nowMillis, timer -> {
+            timers.remove(timer.getPayload(), timer);
+            expired.add(timer.getPayload());
+        });
+        return expired;
+    }
+
+    /**
+     * Returns the status expired transactions are moved to.
+     *
+     * @return FAILED or CANCELLED.
+     */
+    public TransactionStatus getTargetStatus() {
+        return targetStatus;
+    }
+
+    /**
+     * Returns the interval between expiry runs, also the resolution of the timers.
+     *
+     * @return The tick interval in milliseconds.
+     */
+    public long getTickInterval() {
+        return tickInterval;
+    }
+
+    /**
+     * Returns the number of pending transactions with a running timer.
+     *
+     * @return The number of timers.
+     */
+    public long getTimerCount() {
+        return wheel.size();
+    }
+}
@@ -0,0 +1,82 @@
+package org.ayle.transaction.management.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.ayle.transaction.management.entity.Transaction;
+import org.ayle.transaction.management.enums.TransactionCategory;
+import org.ayle.transaction.management.enums.TransactionStatus;
+import org.ayle.transaction.management.enums.TransactionType;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A status change, optionally with field changes, applied only if the stored transaction still has the
+ * expected version and/or status. Fields that are not set keep the values of the stored transaction,
+ * so a worker can settle a transaction by sending only its ID, the target status and the expectation.
+ */
+@Data
+public class ConditionalUpdateRequest implements Serializable {
+
+    private String id;
+
+    @NotNull(message = "Transaction status cannot be null")
+    private TransactionStatus status;
+
+    /**
+     * The update is applied only if the stored transaction has this version.
+     */
+    private Long expectedVersion;
+
+    /**
+     * The update is applied only if the stored transaction has this status.
+     */
+    private TransactionStatus expectedStatus;
+
+    private TransactionType type;
+
+    private TransactionCategory category;
+
+    @Positive
+    private BigDecimal amount;
+
+    private String currency;
+
+    @Pattern(regexp = ".*\\S.*", message = "Description cannot be blank")
+    private String description;
+
+    @Pattern(regexp = ".*\\S.*", message = "Primary account cannot be blank")
+    private String primaryAccount;
+
+    private String counterpartyAccount;
+
+    @JsonIgnore
+    @AssertTrue(message = "Expected version or expected status is required")
+    public boolean isConditional() {
+        return expectedVersion != null || expectedStatus != null;
+    }
+
+    /**
+     * Builds the full update from the stored transaction and the fields set on this request.
+     *
+     * @param current The stored transaction the update is applied to.
+     * @return The update request.
+     */
+    public TransactionRequest applyTo(Transaction current) {
+        TransactionRequest request = new TransactionRequest();
+        request.setId(current.getId());
+        request.setType(type != null ? type : current.getType());
+        request.setCategory(category != null ? category : current.getCategory());
+        request.setStatus(status);
+        request.setAmount(amount != null ? amount : current.getAmount());
+        request.setCurrency(currency != null ? currency : current.getCurrency().getCurrencyCode());
+        request.setDescription(description != null ? description : current.getDescription());
+        request.setPrimaryAccount(primaryAccount != null ? primaryAccount : current.getPrimaryAccount());
+        request.setCounterpartyAccount(counterpartyAccount != null ? counterpartyAccount : current.getCounterpartyAccount());
+        return request;
+    }
+}
@@ -8,6 +8,7 @@ import org.ayle.transaction.management.enums.TransactionStatus;
 import org.ayle.transaction.management.enums.TransactionType;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 @Data
 public class TransactionListRequest implements Serializable{
@@ -39,4 +40,39 @@ public class TransactionListRequest implements Serializable{
         }
         return key;
     }
+
+    /**
+     * Rebuilds a request from a key produced by {@link #generateCacheKey()}.
+     *
+     * @param key The cache key.
+     * @return The request the key was generated from.
+     * @throws IllegalArgumentException If the key is malformed.
+     */
+    public static TransactionListRequest fromCacheKey(String key) {
+        String[] parts = key.split("-");
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Invalid cache key: " + key);
+        }
+        TransactionListRequest request = new TransactionListRequest();
+        request.setPageNo(Integer.parseInt(parts[0]));
+        request.setPageSize(Integer.parseInt(parts[1]));
+        int i = 2;
+        if (i < parts.length && isConstant(TransactionType.class, parts[i])) {
+            request.setType(TransactionType.valueOf(parts[i++]));
+        }
+        if (i < parts.length && isConstant(TransactionCategory.class, parts[i])) {
+            request.setCategory(TransactionCategory.valueOf(parts[i++]));
+        }
+        if (i < parts.length && isConstant(TransactionStatus.class, parts[i])) {
+            request.setStatus(TransactionStatus.valueOf(parts[i++]));
+        }
+        if (i < parts.length) {
+            throw new IllegalArgumentException("Invalid cache key: " + key);
+        }
+        return request;
+    }
+
+    private static <E extends Enum<E>> boolean isConstant(Class<E> type, String name) {
+        return Arrays.stream(type.getEnumConstants()).anyMatch(e -> e.name().equals(name));
+    }
 }
@@ -9,6 +9,7 @@ import org.ayle.transaction.management.enums.TransactionStatus;
 import org.ayle.transaction.management.enums.TransactionType;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
 
 @Data
 public class TransactionRequest implements Serializable {
@@ -23,9 +24,17 @@ public class TransactionRequest implements Serializable {
     @NotNull(message = "Transaction status cannot be null")
     private TransactionStatus status;
 
+    /**
+     * Decimal amount, accepted exactly from a JSON number or string.
+     */
     @NotNull(message = "Amount cannot be null")
     @Positive
-    private Double amount;
+    private BigDecimal amount;
+
+    /**
+     * ISO 4217 currency code, USD if not set.
+     */
+    private String currency;
 
     @NotBlank(message = "Description cannot be blank")
     private String description;
@@ -0,0 +1,21 @@
+package org.ayle.transaction.management.model;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.ayle.transaction.management.enums.SearchOrder;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class TransactionSearchRequest extends TransactionListRequest {
+
+    /**
+     * Free text matched against the description and primary account. Every term must match.
+     */
+    @NotBlank(message = "Query cannot be blank")
+    private String query;
+
+    private String primaryAccount;
+
+    private SearchOrder order = SearchOrder.RELEVANCE;
+}
@@ -0,0 +1,529 @@
+package org.ayle.transaction.management.service;
+
+import org.ayle.transaction.management.entity.Transaction;
+import org.ayle.transaction.management.enums.SearchOrder;
+import org.ayle.transaction.management.enums.TransactionStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Concurrent in-memory inverted index over transaction descriptions and primary accounts.
+ * The index is kept incrementally by {@link TransactionService} on create, update and delete.
+ * Memory is bounded per transaction by capping the number and the length of indexed terms, and by
+ * compacting a posting list in the background once half of it is replaced documents.
+ */
+@Component
+public class TransactionSearchIndex {
+
+    static final int MIN_TERM_LENGTH = 2;
+
+    static final int MAX_TERM_LENGTH = 32;
+
+    static final int MAX_TERMS_PER_TRANSACTION = 32;
+
+    /**
+     * Replaced documents a posting list keeps at least before it is compacted, so that short lists
+     * are not copied on every update.
+     */
+    static final int MIN_REPLACED_TO_COMPACT = 16;
+
+    private static final String[] NO_TERMS = new String[0];
+
+    /**
+     * Term to the documents containing it, in result order.
+     */
+    private final ConcurrentHashMap<String, Posting> postings = new ConcurrentHashMap<>();
+
+    /**
+     * Transaction ID to its entry, which holds the current document.
+     */
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Indexing order of the documents, which orders them by recency.
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Documents in all posting lists, including the replaced ones not compacted yet.
+     */
+    private final LongAdder postingCount = new LongAdder();
+
+    /**
+     * Runs the compactions, off the request threads.
+     */
+    private final Executor compactionExecutor;
+
+    public TransactionSearchIndex() {
+        this(new ThreadPoolExecutor(0, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                Thread.ofPlatform().name("search-index-compaction").daemon().factory()));
+    }
+
+    /**
+     * @param compactionExecutor Runs the compactions of the posting lists.
+     */
+    public TransactionSearchIndex(Executor compactionExecutor) {
+        this.compactionExecutor = compactionExecutor;
+    }
+
+    /**
+     * Indexes a version of a transaction, replacing the terms previously indexed for the same ID.
+     * Deleted transactions keep no terms. Versions older than the indexed one are ignored, so
+     * concurrent writers may index in any order.
+     *
+     * @param transaction The transaction to index.
+     */
+    public void index(Transaction transaction) {
+        Set<String> tokens = transaction.getStatus() == TransactionStatus.DELETED ? Set.of()
+                : tokenize(transaction.getDescription(), transaction.getPrimaryAccount());
+        entries.compute(transaction.getId(), (id, entry) -> {
+            if (entry == null) {
+                entry = new Entry();
+            } else if (entry.document.transaction().getVersion() > transaction.getVersion()) {
+                return entry;
+            }
+            Document previous = entry.document;
+            String[] terms = tokens.isEmpty() ? NO_TERMS : new String[tokens.size()];
+            Document document = new Document(entry, transaction, terms, sequence.incrementAndGet());
+            int i = 0;
+            for (String token : tokens) {
+                // the document shares the term instance of the posting list rather than keeping its own copy
+                Posting posting = postings.compute(token, (term, current) -> {
+                    current = current == null ? new Posting(term) : current;
+                    current.add(document);
+                    return current;
+                });
+                terms[i++] = posting.term;
+            }
+            Arrays.sort(terms);
+            postingCount.add(terms.length);
+            // published only once it is in every posting list, searches skip an entry without a document
+            entry.document = document;
+            if (previous != null) {
+                retire(previous);
+            }
+            return entry;
+        });
+    }
+
+    /**
+     * Finds a page of the transactions containing every term of the query.
+     * Posting lists are kept in result order, so the search walks the rarest one and stops as soon as the page
+     * is full. Its cost grows with the offset of the page and with the matches rejected by the filters,
+     * not with the total number of matches.
+     *
+     * @param query          The free text query.
+     * @param primaryAccount The exact primary account the transactions must have, may be null.
+     * @param filter         Further condition the transactions must meet.
+     * @param order          The order of the results.
+     * @param offset         The number of results to skip.
+     * @param limit          The maximum number of results.
+     * @return The matching transactions in the requested order.
+     */
+    public List<Transaction> search(String query, String primaryAccount, Predicate<Transaction> filter,
+                                    SearchOrder order, long offset, int limit) {
+        Set<String> tokens = new LinkedHashSet<>(tokenize(query, null));
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (primaryAccount != null) {
+            // the whole account is indexed as a term, its posting list is usually the shortest one
+            addTerm(tokens, primaryAccount.trim().toLowerCase(Locale.ROOT));
+        }
+        String[] terms = tokens.toArray(NO_TERMS);
+        Posting rarest = rarest(terms);
+        if (rarest == null) {
+            return List.of();
+        }
+        List<Transaction> result = new ArrayList<>(Math.min(limit, 64));
+        Set<Entry> accepted = new HashSet<>();
+        long skipped = 0;
+        Iterator<Document> documents = order == SearchOrder.RECENT ? rarest.byRecency() : rarest.byRelevance();
+        while (documents.hasNext() && result.size() < limit) {
+            Document document = current(documents.next());
+            if (document == null) {
+                continue;
+            }
+            Transaction transaction = document.transaction();
+            if (document.containsAll(terms)
+                    && (primaryAccount == null || primaryAccount.equals(transaction.getPrimaryAccount()))
+                    && filter.test(transaction) && accepted.add(document.entry())) {
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    result.add(transaction);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of documents in the posting lists, including the replaced ones that are
+     * not compacted yet.
+     *
+     * @return The posting count.
+     */
+    public long getPostingCount() {
+        return postingCount.sum();
+    }
+
+    /**
+     * Counts a replaced document against the posting lists of its terms, and schedules the compaction
+     * of a list once it holds at least as many replaced documents as current ones.
+     */
+    private void retire(Document previous) {
+        for (String term : previous.terms()) {
+            Posting posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            int replaced = Posting.REPLACED.incrementAndGet(posting);
+            if (replaced >= MIN_REPLACED_TO_COMPACT && replaced * 2 >= posting.size
+                    && Posting.COMPACTING.compareAndSet(posting, 0, 1)) {
+                try {
+                    compactionExecutor.execute(() -> compact(posting));
+                } catch (RejectedExecutionException e) {
+                    posting.compacting = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the groups of a posting list with copies that hold only current documents.
+     * The documents are copied without holding any lock; only the swap, together with the documents appended
+     * in the meantime, runs under the lock of the term that writers take to append. Searches keep walking the
+     * groups they started with, so they neither block nor are blocked by a compaction.
+     */
+    private void compact(Posting posting) {
+        try {
+            Group[] groups = posting.groups;
+            Group[] compacted = new Group[groups.length];
+            int[] copied = new int[groups.length];
+            int removed = 0;
+            for (int i = 0; i < groups.length; i++) {
+                Group group = groups[i];
+                int size = group.size;
+                Document[] documents = group.documents;
+                Document[] kept = new Document[size];
+                int count = 0;
+                for (int j = 0; j < size; j++) {
+                    if (documents[j].entry().document == documents[j]) {
+                        kept[count++] = documents[j];
+                    }
+                }
+                compacted[i] = new Group(group.termCount, Arrays.copyOf(kept, count), count);
+                copied[i] = size;
+                removed += size - count;
+            }
+            int compactedRemoved = removed;
+            postings.computeIfPresent(posting.term, (term, current) -> {
+                if (current != posting) {
+                    return current;
+                }
+                List<Group> swapped = new ArrayList<>(current.groups.length);
+                int size = 0;
+                for (Group group : current.groups) {
+                    Group target = group;
+                    for (int i = 0; i < groups.length; i++) {
+                        if (groups[i] == group) {
+                            // carry over the documents appended since the copy
+                            target = compacted[i];
+                            for (int j = copied[i]; j < group.size; j++) {
+                                target.append(group.documents[j]);
+                            }
+                            break;
+                        }
+                    }
+                    if (target.size > 0) {
+                        swapped.add(target);
+                        size += target.size;
+                    }
+                }
+                current.groups = swapped.toArray(new Group[0]);
+                current.size = size;
+                Posting.REPLACED.addAndGet(current, -compactedRemoved);
+                postingCount.add(-compactedRemoved);
+                return size == 0 ? null : current;
+            });
+        } finally {
+            posting.compacting = 0;
+        }
+    }
+
+    /**
+     * Returns the current version of a document found in a posting list, or null if it is not published yet.
+     * A search can pass the position of a new version just before it replaces the one it finds later,
+     * so an outdated document stands in for the current one; callers drop the repeats by entry.
+     */
+    private static Document current(Document document) {
+        return document.entry().document;
+    }
+
+    /**
+     * Returns the shortest posting list of the terms, or null if a term is not indexed.
+     */
+    private Posting rarest(String[] terms) {
+        Posting rarest = null;
+        for (String term : terms) {
+            Posting posting = postings.get(term);
+            if (posting == null) {
+                return null;
+            }
+            if (rarest == null || posting.size < rarest.size) {
+                rarest = posting;
+            }
+        }
+        return rarest;
+    }
+
+    /**
+     * Splits the given texts into lower-cased alphanumeric terms.
+     *
+     * @param description The free text description.
+     * @param account     The account, indexed as a whole in addition to its parts, may be null.
+     * @return The distinct terms, at most {@link #MAX_TERMS_PER_TRANSACTION}.
+     */
+    static Set<String> tokenize(String description, String account) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (account != null && !account.isBlank()) {
+            addTerm(terms, account.trim().toLowerCase(Locale.ROOT));
+            addTerms(terms, account);
+        }
+        if (description != null) {
+            addTerms(terms, description);
+        }
+        return Collections.unmodifiableSet(terms);
+    }
+
+    private static void addTerms(Set<String> terms, String text) {
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (terms.size() >= MAX_TERMS_PER_TRANSACTION) {
+                return;
+            }
+            addTerm(terms, token);
+        }
+    }
+
+    private static void addTerm(Set<String> terms, String term) {
+        if (term.length() >= MIN_TERM_LENGTH) {
+            terms.add(term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term);
+        }
+    }
+
+    /**
+     * An indexed version of a transaction with its sorted terms.
+     */
+    private record Document(Entry entry, Transaction transaction, String[] terms, long sequence) {
+
+        boolean containsAll(String[] queryTerms) {
+            for (String term : queryTerms) {
+                if (Arrays.binarySearch(terms, term) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Stable per transaction ID, points to the current document.
+     */
+    private static final class Entry {
+
+        private volatile Document document;
+    }
+
+    /**
+     * The documents containing a term, grouped by their number of terms and in indexing order within a group.
+     * A query scores a document higher the fewer terms it has, so walking the groups in turn yields the
+     * documents by relevance, and merging them yields the documents by recency.
+     * Documents are only appended, by one writer at a time under the lock of the term in {@link #postings};
+     * replaced documents stay until a compaction swaps in new groups.
+     */
+    private static final class Posting {
+
+        static final AtomicIntegerFieldUpdater<Posting> REPLACED =
+                AtomicIntegerFieldUpdater.newUpdater(Posting.class, "replaced");
+
+        static final AtomicIntegerFieldUpdater<Posting> COMPACTING =
+                AtomicIntegerFieldUpdater.newUpdater(Posting.class, "compacting");
+
+        private final String term;
+
+        /**
+         * The non-empty groups, by ascending term count.
+         */
+        private volatile Group[] groups = new Group[0];
+
+        private volatile int size;
+
+        private volatile int replaced;
+
+        private volatile int compacting;
+
+        Posting(String term) {
+            this.term = term;
+        }
+
+        void add(Document document) {
+            int termCount = document.terms().length;
+            Group[] current = groups;
+            int index = 0;
+            while (index < current.length && current[index].termCount < termCount) {
+                index++;
+            }
+            if (index == current.length || current[index].termCount != termCount) {
+                Group[] next = new Group[current.length + 1];
+                System.arraycopy(current, 0, next, 0, index);
+                next[index] = new Group(termCount, new Document[2], 0);
+                System.arraycopy(current, index, next, index + 1, current.length - index);
+                groups = next;
+                current = next;
+            }
+            current[index].append(document);
+            size++;
+        }
+
+        Iterator<Document> byRelevance() {
+            Group[] snapshot = groups;
+            return new Iterator<>() {
+                private int index;
+
+                private Iterator<Document> group = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    // walk the groups lazily, so that a page does not copy the groups it never reaches
+                    while (!group.hasNext() && index < snapshot.length) {
+                        group = snapshot[index++].newestFirst();
+                    }
+                    return group.hasNext();
+                }
+
+                @Override
+                public Document next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return group.next();
+                }
+            };
+        }
+
+        Iterator<Document> byRecency() {
+            PriorityQueue<PeekingIterator> heads = new PriorityQueue<>(
+                    (a, b) -> Long.compare(b.peek().sequence(), a.peek().sequence()));
+            for (Group group : groups) {
+                PeekingIterator head = new PeekingIterator(group.newestFirst());
+                if (head.peek() != null) {
+                    heads.add(head);
+                }
+            }
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return !heads.isEmpty();
+                }
+
+                @Override
+                public Document next() {
+                    PeekingIterator head = heads.poll();
+                    if (head == null) {
+                        throw new NoSuchElementException();
+                    }
+                    Document document = head.next();
+                    if (head.peek() != null) {
+                        heads.add(head);
+                    }
+                    return document;
+                }
+            };
+        }
+    }
+
+    /**
+     * An append-only array of documents with the same term count. A reader sees the documents below the size
+     * it read, which are never modified afterwards.
+     */
+    private static final class Group {
+
+        private final int termCount;
+
+        private volatile Document[] documents;
+
+        private volatile int size;
+
+        Group(int termCount, Document[] documents, int size) {
+            this.termCount = termCount;
+            this.documents = documents;
+            this.size = size;
+        }
+
+        void append(Document document) {
+            Document[] current = documents;
+            int count = size;
+            if (count == current.length) {
+                current = Arrays.copyOf(current, Math.max(2, count + (count >> 1)));
+                documents = current;
+            }
+            current[count] = document;
+            size = count + 1;
+        }
+
+        Iterator<Document> newestFirst() {
+            int count = size;
+            Document[] snapshot = documents;
+            return new Iterator<>() {
+                private int index = count;
+
+                @Override
+                public boolean hasNext() {
+                    return index > 0;
+                }
+
+                @Override
+                public Document next() {
+                    if (index == 0) {
+                        throw new NoSuchElementException();
+                    }
+                    return snapshot[--index];
+                }
+            };
+        }
+    }
+
+    private static final class PeekingIterator {
+
+        private final Iterator<Document> iterator;
+
+        private Document next;
+
+        PeekingIterator(Iterator<Document> iterator) {
+            this.iterator = iterator;
+            this.next = iterator.hasNext() ? iterator.next() : null;
+        }
+
+        Document peek() {
+            return next;
+        }
+
+        Document next() {
+            Document current = next;
+            next = iterator.hasNext() ? iterator.next() : null;
+            return current;
+        }
+    }
+}
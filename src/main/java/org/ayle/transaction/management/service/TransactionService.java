@@ -2,25 +2,36 @@ package org.ayle.transaction.management.service;
 
 import org.ayle.transaction.management.Exception.ErrorCode;
 import org.ayle.transaction.management.Exception.TransactionException;
+import org.ayle.transaction.management.cache.SingleFlight;
+import org.ayle.transaction.management.entity.Money;
 import org.ayle.transaction.management.entity.Transaction;
 import org.ayle.transaction.management.enums.TransactionCategory;
 import org.ayle.transaction.management.enums.TransactionStatus;
+import org.ayle.transaction.management.expiry.PendingTransactionTimeouts;
+import org.ayle.transaction.management.model.ConditionalUpdateRequest;
 import org.ayle.transaction.management.model.TransactionListRequest;
 import org.ayle.transaction.management.model.TransactionRequest;
+import org.ayle.transaction.management.model.TransactionSearchRequest;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Currency;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing transactions.
- * Provides methods to list, create, update, and delete transactions.
+ * Provides methods to list, search, create, update, and delete transactions.
  */
 @Service
 public class TransactionService {
@@ -30,6 +41,25 @@ public class TransactionService {
      */
     private final ConcurrentSkipListMap<String, Transaction> transactions = new ConcurrentSkipListMap<>();
 
+    /**
+     * Incremented after every write, so callers can detect that data changed while they computed a result.
+     */
+    private final AtomicLong modificationCount = new AtomicLong();
+
+    /**
+     * Coalesces concurrent identical list queries, so that only one of them scans the store.
+     */
+    private final SingleFlight<String, List<Transaction>> listFlight = new SingleFlight<>();
+
+    private final TransactionSearchIndex searchIndex;
+
+    private final PendingTransactionTimeouts pendingTimeouts;
+
+    public TransactionService(TransactionSearchIndex searchIndex, PendingTransactionTimeouts pendingTimeouts) {
+        this.searchIndex = searchIndex;
+        this.pendingTimeouts = pendingTimeouts;
+    }
+
     /**
      * Retrieves a list of transactions based on the provided request parameters.
      *
@@ -38,13 +68,37 @@ public class TransactionService {
      */
     @Cacheable(value = "transactionsCache", key = "#request.generateCacheKey()", unless = "#result == null")
     public List<Transaction> listTransactions(TransactionListRequest request) {
+        // only join scans that started after the last write, so that a caller never misses a completed write
+        String key = request.generateCacheKey() + "@" + modificationCount.get();
+        return listFlight.execute(key, () -> streamTransactions(request).collect(Collectors.toList()));
+    }
 
-        return transactions.values().stream().filter(t -> t.getStatus() != TransactionStatus.DELETED)
-                .filter(t -> request.getType() == null || t.getType() == request.getType())
-                .filter(t -> request.getCategory() == null || t.getCategory() == request.getCategory())
-                .filter(t -> request.getStatus() == null || t.getStatus() == request.getStatus())
+    /**
+     * Lazily streams the page of transactions matching the provided request parameters.
+     * Records are pulled from the underlying store only as the stream is consumed. Results are not cached,
+     * use {@link #listTransactions(TransactionListRequest)} to serve requests.
+     *
+     * @param request The request object containing filtering criteria.
+     * @return A lazy stream of transactions matching the criteria.
+     */
+    public Stream<Transaction> streamTransactions(TransactionListRequest request) {
+        return transactions.values().stream().filter(t -> matches(t, request))
                 .skip((long) request.getPageSize() * (request.getPageNo() - 1))
-                .limit(request.getPageSize()).collect(Collectors.toList());
+                .limit(request.getPageSize());
+    }
+
+    /**
+     * Searches transactions whose description or primary account contains every term of the query.
+     * Results can be combined with the same filters as {@link #listTransactions(TransactionListRequest)}
+     * and are ordered by relevance or by most recent update.
+     *
+     * @param request The request object containing the query and filtering criteria.
+     * @return The requested page of matching transactions.
+     */
+    public List<Transaction> searchTransactions(TransactionSearchRequest request) {
+        return searchIndex.search(request.getQuery(), request.getPrimaryAccount(),
+                transaction -> matches(transaction, request), request.getOrder(),
+                (long) request.getPageSize() * (request.getPageNo() - 1), request.getPageSize());
     }
 
     /**
@@ -60,19 +114,30 @@ public class TransactionService {
             throw new TransactionException(ErrorCode.TRANSACTION_ALREADY_EXISTS);
         }
         validateTransaction(request);
+        Currency currency = resolveCurrency(request);
+        long amountMinor = toMinorUnits(request, currency);
         Transaction transaction = new Transaction();
         transaction.setId(request.getId() != null ? request.getId() : UUID.randomUUID().toString());
         transaction.setType(request.getType());
         transaction.setCategory(request.getCategory());
         transaction.setStatus(request.getStatus());
-        transaction.setAmount(BigDecimal.valueOf(request.getAmount()));
+        transaction.setCurrency(currency);
+        transaction.setAmountMinor(amountMinor);
         transaction.setDescription(request.getDescription());
         transaction.setPrimaryAccount(request.getPrimaryAccount());
         transaction.setCounterpartyAccount(request.getCounterpartyAccount());
-        transaction.setCreateTime(LocalDateTime.now());
-        transaction.setUpdateTime(LocalDateTime.now());
+        Instant now = Instant.now();
+        transaction.setCreateTime(LocalDateTime.ofInstant(now, ZoneId.systemDefault()));
+        transaction.setCreateTimeMillis(now.toEpochMilli());
+        transaction.setUpdateTime(transaction.getCreateTime());
+        transaction.setVersion(1);
 
-        transactions.put(transaction.getId(), transaction);
+        if (transactions.putIfAbsent(transaction.getId(), transaction) != null) {
+            throw new TransactionException(ErrorCode.TRANSACTION_ALREADY_EXISTS);
+        }
+        searchIndex.index(transaction);
+        pendingTimeouts.track(transaction);
+        modificationCount.incrementAndGet();
         return transaction.getId();
     }
 
@@ -81,24 +146,124 @@ public class TransactionService {
      *
      * @param request The request object containing updated transaction details.
      * @return The ID of the updated transaction.
-     * @throws TransactionException If the transaction is not found or validation fails.
+     * @throws TransactionException If the transaction is not found, the status transition is not allowed
+     *                              or validation fails.
      */
     @CacheEvict(value = "transactionsCache", allEntries = true)
     public String updateTransaction(TransactionRequest request) {
-        if (request.getId() == null || !transactions.containsKey(request.getId())) {
+        return replaceTransaction(request.getId(), current -> request).getId();
+    }
+
+    /**
+     * Updates an existing transaction only if it still has the expected version and/or status.
+     * Concurrent workers can use it to settle a transaction without reading it back first. Fields that are
+     * not set on the request keep the values of the record the update is applied to, so a status change
+     * never overwrites a concurrent edit of the other fields.
+     *
+     * @param request The request object containing the target status, the expectations and any changed fields.
+     * @return The updated transaction, including its new version.
+     * @throws TransactionException If the expectations do not match, the transaction is not found,
+     *                              the status transition is not allowed or validation fails.
+     */
+    @CacheEvict(value = "transactionsCache", allEntries = true)
+    public Transaction conditionalUpdateTransaction(ConditionalUpdateRequest request) {
+        return replaceTransaction(request.getId(), current -> {
+            if ((request.getExpectedVersion() != null && request.getExpectedVersion() != current.getVersion()) ||
+                    (request.getExpectedStatus() != null && request.getExpectedStatus() != current.getStatus())) {
+                throw new TransactionException(ErrorCode.TRANSACTION_VERSION_CONFLICT);
+            }
+            return request.applyTo(current);
+        });
+    }
+
+    /**
+     * Moves the given transactions to the target status if they are still pending and past their own deadline.
+     * The deadline is checked again on the record that is replaced, because a timer may have fired for an
+     * earlier version, e.g. before the category was changed to one with a longer timeout.
+     * Each move is a compare-and-set on the record that was read, so a transaction that is settled at the
+     * same time keeps its new status. The cache is evicted once for the whole batch.
+     *
+     * @param ids          The IDs of the transactions.
+     * @param targetStatus The status to move them to, FAILED or CANCELLED.
+     * @param nowMillis    The time the deadlines are checked against.
+     * @return The number of transactions that were moved.
+     * @throws TransactionException If a pending transaction cannot be moved to the target status.
+     */
+    @CacheEvict(value = "transactionsCache", allEntries = true)
+    public int expirePendingTransactions(Collection<String> ids, TransactionStatus targetStatus, long nowMillis) {
+        if (!TransactionStatus.PENDING.canTransitionTo(targetStatus)) {
+            throw new TransactionException(ErrorCode.INVALID_STATUS_TRANSITION);
+        }
+        int expired = 0;
+        for (String id : ids) {
+            while (true) {
+                Transaction current = transactions.get(id);
+                if (current == null || !pendingTimeouts.isExpired(current, nowMillis)) {
+                    break;
+                }
+                Transaction transaction = current.toBuilder()
+                        .status(targetStatus)
+                        .updateTime(LocalDateTime.now())
+                        .version(current.getVersion() + 1)
+                        .build();
+                if (compareAndSet(current, transaction)) {
+                    expired++;
+                    break;
+                }
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Replaces a stored transaction with a new version built from an update request.
+     * The replacement is a compare-and-set on the stored record, retried from a fresh read if
+     * another writer replaced the record first.
+     *
+     * @param id     The ID of the transaction.
+     * @param update Builds the update request from the current record before each attempt, throws to abort.
+     * @return The new version of the transaction.
+     * @throws TransactionException If the transaction is not found, the status transition is not allowed
+     *                              or validation fails.
+     */
+    private Transaction replaceTransaction(String id, Function<Transaction, TransactionRequest> update) {
+        if (id == null || !transactions.containsKey(id)) {
             throw new TransactionException(ErrorCode.TRANSACTION_NOT_FOUND);
         }
-        validateTransaction(request);
-        Transaction transaction = transactions.get(request.getId());
-        transaction.setType(request.getType());
-        transaction.setCategory(request.getCategory());
-        transaction.setStatus(request.getStatus());
-        transaction.setAmount(BigDecimal.valueOf(request.getAmount()));
-        transaction.setDescription(request.getDescription());
-        transaction.setPrimaryAccount(request.getPrimaryAccount());
-        transaction.setCounterpartyAccount(request.getCounterpartyAccount());
-        transaction.setUpdateTime(LocalDateTime.now());
-        return request.getId();
+        TransactionRequest validated = null;
+        Currency currency = null;
+        long amountMinor = 0;
+        while (true) {
+            Transaction current = transactions.get(id);
+            if (current.getStatus() == TransactionStatus.DELETED) {
+                throw new TransactionException(ErrorCode.TRANSACTION_NOT_FOUND);
+            }
+            TransactionRequest request = update.apply(current);
+            if (request != validated) {
+                validateTransaction(request);
+                currency = resolveCurrency(request);
+                amountMinor = toMinorUnits(request, currency);
+                validated = request;
+            }
+            if (!current.getStatus().canTransitionTo(request.getStatus())) {
+                throw new TransactionException(ErrorCode.INVALID_STATUS_TRANSITION);
+            }
+            Transaction transaction = current.toBuilder()
+                    .type(request.getType())
+                    .category(request.getCategory())
+                    .status(request.getStatus())
+                    .currency(currency)
+                    .amountMinor(amountMinor)
+                    .description(request.getDescription())
+                    .primaryAccount(request.getPrimaryAccount())
+                    .counterpartyAccount(request.getCounterpartyAccount())
+                    .updateTime(LocalDateTime.now())
+                    .version(current.getVersion() + 1)
+                    .build();
+            if (compareAndSet(current, transaction)) {
+                return transaction;
+            }
+        }
     }
 
     /**
@@ -120,16 +285,122 @@ public class TransactionService {
      * Deletes a transaction by marking it as deleted.
      *
      * @param id The ID of the transaction to delete.
-     * @throws TransactionException If the transaction is not found.
+     * @throws TransactionException If the transaction is not found or has already been deleted.
      */
     @CacheEvict(value = "transactionsCache", allEntries = true)
     public void deleteTransaction(String id) {
-        Transaction transaction = transactions.get(id);
-        if (transaction == null) {
-            throw new TransactionException(ErrorCode.TRANSACTION_NOT_FOUND);
+        while (true) {
+            Transaction current = transactions.get(id);
+            if (current == null || !current.getStatus().canTransitionTo(TransactionStatus.DELETED)) {
+                throw new TransactionException(ErrorCode.TRANSACTION_NOT_FOUND);
+            }
+            Transaction transaction = current.toBuilder()
+                    .status(TransactionStatus.DELETED)
+                    .updateTime(LocalDateTime.now())
+                    .version(current.getVersion() + 1)
+                    .build();
+            if (compareAndSet(current, transaction)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Replaces the stored record of a transaction if it is still the given one.
+     *
+     * @param current     The record the new version was built from.
+     * @param transaction The new version of the transaction.
+     * @return True if the record was replaced, false if another writer replaced it first.
+     */
+    private boolean compareAndSet(Transaction current, Transaction transaction) {
+        // replace() compares records by equals(), the version makes this match only the record that was read
+        if (!transactions.replace(transaction.getId(), current, transaction)) {
+            return false;
+        }
+        searchIndex.index(transaction);
+        pendingTimeouts.track(transaction);
+        modificationCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Returns the number of writes applied so far.
+     *
+     * @return The modification count.
+     */
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
+    /**
+     * Returns the number of list queries that scanned the store.
+     *
+     * @return The list execution count.
+     */
+    public long getListExecutionCount() {
+        return listFlight.getExecutionCount();
+    }
+
+    /**
+     * Returns the number of list queries that shared the scan of an identical concurrent query.
+     *
+     * @return The coalesced list count.
+     */
+    public long getListCoalescedCount() {
+        return listFlight.getCoalescedCount();
+    }
+
+    /**
+     * Checks whether a transaction is visible and matches the filters of the request.
+     *
+     * @param transaction The transaction to check.
+     * @param request     The request object containing filtering criteria.
+     * @return True if the transaction matches.
+     */
+    private boolean matches(Transaction transaction, TransactionListRequest request) {
+        return transaction.getStatus() != TransactionStatus.DELETED
+                && (request.getType() == null || transaction.getType() == request.getType())
+                && (request.getCategory() == null || transaction.getCategory() == request.getCategory())
+                && (request.getStatus() == null || transaction.getStatus() == request.getStatus());
+    }
+
+    /**
+     * Resolves the currency of the transaction request.
+     *
+     * @param request The request object containing transaction details.
+     * @return The requested currency, or the default currency if none is set.
+     * @throws TransactionException If the currency code is unknown or has no minor unit.
+     */
+    private Currency resolveCurrency(TransactionRequest request) {
+        if (request.getCurrency() == null) {
+            return Money.DEFAULT_CURRENCY;
+        }
+        Currency currency;
+        try {
+            currency = Currency.getInstance(request.getCurrency());
+        } catch (IllegalArgumentException e) {
+            throw new TransactionException(ErrorCode.INVALID_CURRENCY);
+        }
+        if (currency.getDefaultFractionDigits() < 0) {
+            throw new TransactionException(ErrorCode.INVALID_CURRENCY);
+        }
+        return currency;
+    }
+
+    /**
+     * Converts the amount of the transaction request to minor units of the currency.
+     *
+     * @param request  The request object containing transaction details.
+     * @param currency The currency of the transaction.
+     * @return The amount in minor units.
+     * @throws TransactionException If the amount cannot be represented exactly.
+     */
+    private long toMinorUnits(TransactionRequest request, Currency currency) {
+        try {
+            return Money.toMinorUnits(request.getAmount(), currency);
+        } catch (ArithmeticException e) {
+            throw new TransactionException(ErrorCode.INVALID_AMOUNT);
         }
-        transaction.setStatus(TransactionStatus.DELETED);
-        transaction.setUpdateTime(LocalDateTime.now());
     }
 
     /**
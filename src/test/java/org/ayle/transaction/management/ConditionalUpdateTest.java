@@ -0,0 +1,230 @@
+package org.ayle.transaction.management;
+
+import org.ayle.transaction.management.Exception.ErrorCode;
+import org.ayle.transaction.management.Exception.TransactionException;
+import org.ayle.transaction.management.entity.Transaction;
+import org.ayle.transaction.management.enums.TransactionCategory;
+import org.ayle.transaction.management.enums.TransactionStatus;
+import org.ayle.transaction.management.model.ConditionalUpdateRequest;
+import org.ayle.transaction.management.model.TransactionRequest;
+import org.ayle.transaction.management.service.TransactionService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.ayle.transaction.management.TestTransactions.request;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConditionalUpdateTest {
+
+    private final TransactionService transactionService = TestTransactions.newService();
+
+    private String createPending() {
+        return transactionService.createTransaction(request(null, TransactionStatus.PENDING));
+    }
+
+    private static ConditionalUpdateRequest conditional(String id, TransactionStatus status, Long expectedVersion,
+                                                        TransactionStatus expectedStatus) {
+        ConditionalUpdateRequest request = new ConditionalUpdateRequest();
+        request.setId(id);
+        request.setStatus(status);
+        request.setExpectedVersion(expectedVersion);
+        request.setExpectedStatus(expectedStatus);
+        return request;
+    }
+
+    @Test
+    public void testStatusTransitions() {
+        assertTrue(TransactionStatus.PENDING.canTransitionTo(TransactionStatus.COMPLETED));
+        assertTrue(TransactionStatus.PENDING.canTransitionTo(TransactionStatus.PENDING));
+        assertTrue(TransactionStatus.FAILED.canTransitionTo(TransactionStatus.DELETED));
+        assertFalse(TransactionStatus.COMPLETED.canTransitionTo(TransactionStatus.FAILED));
+        assertFalse(TransactionStatus.CANCELLED.canTransitionTo(TransactionStatus.PENDING));
+        assertFalse(TransactionStatus.DELETED.canTransitionTo(TransactionStatus.DELETED));
+    }
+
+    @Test
+    public void testConditionalUpdateByVersion() {
+        String id = createPending();
+        assertEquals(1, transactionService.getTransaction(id).getVersion());
+
+        Transaction updated = transactionService.conditionalUpdateTransaction(
+                conditional(id, TransactionStatus.COMPLETED, 1L, null));
+
+        assertEquals(2, updated.getVersion());
+        assertEquals(TransactionStatus.COMPLETED, updated.getStatus());
+        assertEquals(updated, transactionService.getTransaction(id));
+    }
+
+    @Test
+    public void testConditionalUpdateWithStaleVersion() {
+        String id = createPending();
+        transactionService.updateTransaction(request(id, TransactionStatus.PENDING));
+
+        Exception exception = assertThrows(TransactionException.class, () -> transactionService.conditionalUpdateTransaction(
+                conditional(id, TransactionStatus.COMPLETED, 1L, null)));
+
+        assertEquals(ErrorCode.TRANSACTION_VERSION_CONFLICT.getMessage(), exception.getMessage());
+        assertEquals(TransactionStatus.PENDING, transactionService.getTransaction(id).getStatus());
+    }
+
+    @Test
+    public void testConditionalUpdateWithUnexpectedStatus() {
+        String id = createPending();
+        transactionService.conditionalUpdateTransaction(conditional(id, TransactionStatus.FAILED, null, TransactionStatus.PENDING));
+
+        Exception exception = assertThrows(TransactionException.class, () -> transactionService.conditionalUpdateTransaction(
+                conditional(id, TransactionStatus.COMPLETED, null, TransactionStatus.PENDING)));
+
+        assertEquals(ErrorCode.TRANSACTION_VERSION_CONFLICT.getMessage(), exception.getMessage());
+    }
+
+    @Test
+    public void testUpdateWithInvalidTransition() {
+        String id = createPending();
+        transactionService.updateTransaction(request(id, TransactionStatus.COMPLETED));
+
+        Exception exception = assertThrows(TransactionException.class,
+                () -> transactionService.updateTransaction(request(id, TransactionStatus.PENDING)));
+
+        assertEquals(ErrorCode.INVALID_STATUS_TRANSITION.getMessage(), exception.getMessage());
+    }
+
+    @Test
+    public void testUpdateDeletedTransaction() {
+        String id = createPending();
+        transactionService.deleteTransaction(id);
+
+        Exception exception = assertThrows(TransactionException.class,
+                () -> transactionService.updateTransaction(request(id, TransactionStatus.PENDING)));
+
+        assertEquals(ErrorCode.TRANSACTION_NOT_FOUND.getMessage(), exception.getMessage());
+    }
+
+    @Test
+    public void testDeleteDeletedTransaction() {
+        String id = createPending();
+        transactionService.deleteTransaction(id);
+        long modifications = transactionService.getModificationCount();
+
+        Exception exception = assertThrows(TransactionException.class, () -> transactionService.deleteTransaction(id));
+
+        assertEquals(ErrorCode.TRANSACTION_NOT_FOUND.getMessage(), exception.getMessage());
+        assertEquals(modifications, transactionService.getModificationCount());
+    }
+
+    @Test
+    public void testRacingWorkersOnlyOneWins() throws Exception {
+        int workers = 8;
+        for (int round = 0; round < 20; round++) {
+            String id = createPending();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(workers);
+            try {
+                List<Future<TransactionStatus>> results = new ArrayList<>();
+                for (int i = 0; i < workers; i++) {
+                    TransactionStatus target = i % 2 == 0 ? TransactionStatus.COMPLETED : TransactionStatus.FAILED;
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        try {
+                            return transactionService.conditionalUpdateTransaction(
+                                    conditional(id, target, null, TransactionStatus.PENDING)).getStatus();
+                        } catch (TransactionException e) {
+                            return null;
+                        }
+                    }));
+                }
+                start.countDown();
+
+                List<TransactionStatus> winners = new ArrayList<>();
+                for (Future<TransactionStatus> result : results) {
+                    TransactionStatus status = result.get(5, TimeUnit.SECONDS);
+                    if (status != null) {
+                        winners.add(status);
+                    }
+                }
+                assertEquals(1, winners.size());
+                Transaction stored = transactionService.getTransaction(id);
+                assertEquals(winners.get(0), stored.getStatus());
+                assertEquals(2, stored.getVersion());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    public void testStatusChangeKeepsOtherFields() {
+        String id = createPending();
+        TransactionRequest edit = request(id, TransactionStatus.PENDING);
+        edit.setAmount(new BigDecimal("250.00"));
+        edit.setDescription("Deposit Cash corrected");
+        transactionService.updateTransaction(edit);
+
+        // a worker that only knows the transaction was pending settles it without reading the edit
+        Transaction settled = transactionService.conditionalUpdateTransaction(
+                conditional(id, TransactionStatus.COMPLETED, null, TransactionStatus.PENDING));
+
+        assertEquals(TransactionStatus.COMPLETED, settled.getStatus());
+        assertEquals(new BigDecimal("250.00"), settled.getAmount());
+        assertEquals("Deposit Cash corrected", settled.getDescription());
+        assertEquals(3, settled.getVersion());
+    }
+
+    @Test
+    public void testConditionalUpdateOfFields() {
+        String id = createPending();
+        ConditionalUpdateRequest request = conditional(id, TransactionStatus.PENDING, 1L, null);
+        request.setAmount(new BigDecimal("42.50"));
+
+        Transaction updated = transactionService.conditionalUpdateTransaction(request);
+
+        assertEquals(new BigDecimal("42.50"), updated.getAmount());
+        assertEquals("Deposit Cash", updated.getDescription());
+        assertEquals(TransactionCategory.CASH, updated.getCategory());
+    }
+
+    @Test
+    public void testFieldEditRacingStatusChangeIsNotLost() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            String id = createPending();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                // the editor keeps changing the description until the transaction is no longer pending
+                Future<Integer> editor = executor.submit(() -> {
+                    start.await();
+                    int lastApplied = -1;
+                    for (int i = 0; ; i++) {
+                        TransactionRequest edit = request(id, TransactionStatus.PENDING);
+                        edit.setDescription("edit " + i);
+                        try {
+                            transactionService.updateTransaction(edit);
+                            lastApplied = i;
+                        } catch (TransactionException e) {
+                            assertEquals(ErrorCode.INVALID_STATUS_TRANSITION.getMessage(), e.getMessage());
+                            return lastApplied;
+                        }
+                    }
+                });
+                Future<Transaction> settler = executor.submit(() -> {
+                    start.await();
+                    return transactionService.conditionalUpdateTransaction(
+                            conditional(id, TransactionStatus.COMPLETED, null, TransactionStatus.PENDING));
+                });
+                start.countDown();
+
+                int lastApplied = editor.get(5, TimeUnit.SECONDS);
+                settler.get(5, TimeUnit.SECONDS);
+                Transaction stored = transactionService.getTransaction(id);
+                assertEquals(TransactionStatus.COMPLETED, stored.getStatus());
+                assertEquals(lastApplied < 0 ? "Deposit Cash" : "edit " + lastApplied, stored.getDescription());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
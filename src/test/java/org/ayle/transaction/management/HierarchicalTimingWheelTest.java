@@ -0,0 +1,74 @@
+package org.ayle.transaction.management;
+
+import org.ayle.transaction.management.expiry.HierarchicalTimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HierarchicalTimingWheelTest {
+
+    private final HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+
+    private final List<Long> fired = new ArrayList<>();
+
+    private void advance(long nowMillis) {
+        wheel.advance(nowMillis, timeout -> {
+            assertTrue(timeout.getDeadline() <= nowMillis, "fired before its deadline");
+            fired.add(timeout.getPayload());
+        });
+    }
+
+    @Test
+    public void testTimersFireOnTimeAcrossLevels() {
+        // 10 ms ticks and 8 buckets per level: delays up to 80 ms, 640 ms, 5120 ms and beyond the wheel
+        Random random = new Random(7);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long deadline = 1 + random.nextInt(100_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+        for (long tick = 0; tick <= 10_001; tick++) {
+            long now = tick * 10;
+            advance(now);
+            // every timer due by now has fired, and none of them more than one tick late
+            for (long deadline : fired) {
+                assertTrue(deadline > now - 10);
+            }
+            assertEquals(deadlines.stream().filter(deadline -> deadline <= now).count(), 2000 - wheel.size());
+            fired.clear();
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCancelledTimersDoNotFire() {
+        HierarchicalTimingWheel.Timeout<Long> kept = wheel.schedule(1L, 50);
+        HierarchicalTimingWheel.Timeout<Long> cancelledBeforeLinked = wheel.schedule(2L, 50);
+        HierarchicalTimingWheel.Timeout<Long> cancelledAfterLinked = wheel.schedule(3L, 5000);
+        assertTrue(cancelledBeforeLinked.cancel());
+        advance(0);
+        assertTrue(cancelledAfterLinked.cancel());
+        assertFalse(cancelledAfterLinked.cancel());
+        assertEquals(1, wheel.size());
+
+        advance(10_000);
+        assertEquals(List.of(1L), fired);
+        assertTrue(kept.isExpired());
+        assertFalse(kept.cancel());
+        assertTrue(cancelledAfterLinked.isCancelled());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testPastDeadlineFiresOnNextAdvance() {
+        advance(1000);
+        wheel.schedule(1L, 500);
+        advance(1000);
+        assertEquals(List.of(1L), fired);
+    }
+}
@@ -0,0 +1,115 @@
+package org.ayle.transaction.management;
+
+import org.ayle.transaction.management.cache.HotQueryTracker;
+import org.ayle.transaction.management.cache.SpaceSavingSketch;
+import org.ayle.transaction.management.enums.TransactionStatus;
+import org.ayle.transaction.management.enums.TransactionType;
+import org.ayle.transaction.management.model.TransactionListRequest;
+import org.ayle.transaction.management.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotQueryTrackerTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final TransactionService transactionService = TestTransactions.newService();
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("transactionsCache");
+
+    private static TransactionListRequest listRequest(int pageNo, TransactionStatus status) {
+        TransactionListRequest request = new TransactionListRequest();
+        request.setPageNo(pageNo);
+        request.setPageSize(10);
+        request.setStatus(status);
+        return request;
+    }
+
+    private void createTransaction() {
+        transactionService.createTransaction(TestTransactions.request(null, TransactionStatus.PENDING));
+    }
+
+    @Test
+    public void testSketchKeepsHeavyHitters() {
+        SpaceSavingSketch<String> sketch = new SpaceSavingSketch<>(2);
+        for (int i = 0; i < 10; i++) {
+            sketch.offer("hot");
+        }
+        sketch.offer("a");
+        sketch.offer("b");
+        sketch.offer("c");
+
+        List<Map.Entry<String, Long>> top = sketch.top();
+        assertEquals(2, top.size());
+        assertEquals(Map.entry("hot", 10L), top.get(0));
+        assertEquals(Map.entry("c", 3L), top.get(1));
+    }
+
+    @Test
+    public void testCacheKeyRoundTrip() {
+        TransactionListRequest request = listRequest(3, TransactionStatus.PENDING);
+        request.setType(TransactionType.WITHDRAWAL);
+
+        assertEquals(request, TransactionListRequest.fromCacheKey(request.generateCacheKey()));
+        assertEquals(listRequest(1, null), TransactionListRequest.fromCacheKey("1-10"));
+        assertThrows(IllegalArgumentException.class, () -> TransactionListRequest.fromCacheKey("1-10-UNKNOWN"));
+    }
+
+    @Test
+    public void testRefreshRecomputesMissingHotPages() {
+        createTransaction();
+        HotQueryTracker tracker = new HotQueryTracker(transactionService, cacheManager, 8,
+                tempDir.resolve("hot-queries.txt").toString());
+        TransactionListRequest request = listRequest(1, TransactionStatus.PENDING);
+        tracker.record(request);
+
+        tracker.refreshHotQueries();
+
+        List<?> cached = cacheManager.getCache("transactionsCache").get(request.generateCacheKey(), List.class);
+        assertNotNull(cached);
+        assertEquals(1, cached.size());
+    }
+
+    @Test
+    public void testBurstOfDistinctQueriesIsBounded() {
+        HotQueryTracker tracker = new HotQueryTracker(transactionService, cacheManager, 1,
+                tempDir.resolve("hot-queries.txt").toString());
+        for (int i = 0; i < 3; i++) {
+            tracker.record(listRequest(1, null));
+        }
+        // only 16 distinct queries per tracked query are counted until the next drain
+        for (int pageNo = 2; pageNo < 100; pageNo++) {
+            tracker.record(listRequest(pageNo, null));
+        }
+        tracker.record(listRequest(1, null));
+
+        assertEquals(List.of(Map.entry("1-10", 4L + 15)), tracker.getHotQueries());
+    }
+
+    @Test
+    public void testHotQueriesSurviveRestart() {
+        String file = tempDir.resolve("hot-queries.txt").toString();
+        HotQueryTracker tracker = new HotQueryTracker(transactionService, cacheManager, 8, file);
+        for (int i = 0; i < 4; i++) {
+            tracker.record(listRequest(1, null));
+        }
+        tracker.record(listRequest(2, null));
+        tracker.persist();
+
+        HotQueryTracker restarted = new HotQueryTracker(transactionService, new ConcurrentMapCacheManager("transactionsCache"), 8, file);
+        restarted.warmUp();
+
+        List<Map.Entry<String, Long>> hotQueries = restarted.getHotQueries();
+        assertEquals(2, hotQueries.size());
+        assertEquals("1-10", hotQueries.get(0).getKey());
+        assertEquals("2-10", hotQueries.get(1).getKey());
+    }
+}
@@ -0,0 +1,85 @@
+package org.ayle.transaction.management;
+
+import org.ayle.transaction.management.Exception.ErrorCode;
+import org.ayle.transaction.management.Exception.TransactionException;
+import org.ayle.transaction.management.entity.Money;
+import org.ayle.transaction.management.entity.Transaction;
+import org.ayle.transaction.management.enums.TransactionStatus;
+import org.ayle.transaction.management.model.TransactionRequest;
+import org.ayle.transaction.management.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    private final TransactionService transactionService = TestTransactions.newService();
+
+    private static TransactionRequest request(String amount, String currency) {
+        TransactionRequest request = TestTransactions.request(null, TransactionStatus.PENDING);
+        request.setAmount(new BigDecimal(amount));
+        request.setCurrency(currency);
+        return request;
+    }
+
+    @Test
+    public void testToMinorUnits() {
+        assertEquals(10010, Money.toMinorUnits(new BigDecimal("100.1"), USD));
+        assertEquals(1, Money.toMinorUnits(new BigDecimal("0.01"), USD));
+        assertEquals(500, Money.toMinorUnits(new BigDecimal("5E2"), JPY));
+        assertThrows(ArithmeticException.class, () -> Money.toMinorUnits(new BigDecimal("0.001"), USD));
+        assertThrows(ArithmeticException.class, () -> Money.toMinorUnits(new BigDecimal("1.5"), JPY));
+        assertThrows(ArithmeticException.class, () -> Money.toMinorUnits(new BigDecimal("1E30"), USD));
+    }
+
+    @Test
+    @Timeout(1)
+    public void testToMinorUnitsRejectsExtremeExponentsCheaply() {
+        assertThrows(ArithmeticException.class, () -> Money.toMinorUnits(new BigDecimal("1E10000000"), USD));
+        assertThrows(ArithmeticException.class, () -> Money.toMinorUnits(new BigDecimal("1E-10000000"), USD));
+        assertThrows(ArithmeticException.class, () -> Money.toMinorUnits(new BigDecimal("1E+2147483647"), USD));
+        assertEquals(Long.MAX_VALUE, Money.toMinorUnits(new BigDecimal(Long.MAX_VALUE).movePointLeft(2), USD));
+        assertEquals(100, Money.toMinorUnits(new BigDecimal("1.0000000000"), USD));
+        assertEquals(0, Money.toMinorUnits(new BigDecimal("0E-10000000"), USD));
+    }
+
+    @Test
+    public void testToDecimal() {
+        assertEquals(new BigDecimal("100.10"), Money.toDecimal(10010, USD));
+        assertEquals(new BigDecimal("500"), Money.toDecimal(500, JPY));
+    }
+
+    @Test
+    public void testCreateTransactionKeepsExactAmount() {
+        String id = transactionService.createTransaction(request("0.10", null));
+
+        Transaction transaction = transactionService.getTransaction(id);
+        assertEquals(10, transaction.getAmountMinor());
+        assertEquals(USD, transaction.getCurrency());
+        assertEquals(new BigDecimal("0.10"), transaction.getAmount());
+    }
+
+    @Test
+    public void testCreateTransactionWithInvalidAmount() {
+        Exception exception = assertThrows(TransactionException.class,
+                () -> transactionService.createTransaction(request("1.5", "JPY")));
+
+        assertEquals(ErrorCode.INVALID_AMOUNT.getMessage(), exception.getMessage());
+    }
+
+    @Test
+    public void testCreateTransactionWithInvalidCurrency() {
+        Exception exception = assertThrows(TransactionException.class,
+                () -> transactionService.createTransaction(request("1.5", "ABC")));
+
+        assertEquals(ErrorCode.INVALID_CURRENCY.getMessage(), exception.getMessage());
+    }
+}
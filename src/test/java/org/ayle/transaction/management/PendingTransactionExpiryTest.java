@@ -0,0 +1,134 @@
+package org.ayle.transaction.management;
+
+import org.ayle.transaction.management.config.PendingExpiryProperties;
+import org.ayle.transaction.management.entity.Transaction;
+import org.ayle.transaction.management.enums.TransactionCategory;
+import org.ayle.transaction.management.enums.TransactionStatus;
+import org.ayle.transaction.management.enums.TransactionType;
+import org.ayle.transaction.management.expiry.PendingTransactionExpirer;
+import org.ayle.transaction.management.expiry.PendingTransactionTimeouts;
+import org.ayle.transaction.management.model.TransactionRequest;
+import org.ayle.transaction.management.service.TransactionService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PendingTransactionExpiryTest {
+
+    private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+
+    private final PendingTransactionTimeouts timeouts;
+
+    private final TransactionService transactionService;
+
+    private final PendingTransactionExpirer expirer;
+
+    public PendingTransactionExpiryTest() {
+        PendingExpiryProperties properties = new PendingExpiryProperties();
+        properties.getTimeouts().put(TransactionCategory.PAYMENT, Duration.ofMinutes(15));
+        properties.getTimeouts().put(TransactionCategory.REPAYMENT_REFUND, Duration.ofMinutes(60));
+        properties.setTargetStatus(TransactionStatus.CANCELLED);
+        timeouts = new PendingTransactionTimeouts(properties);
+        transactionService = TestTransactions.newService(timeouts);
+        expirer = new PendingTransactionExpirer(transactionService, timeouts);
+    }
+
+    private static TransactionRequest request(String id, TransactionCategory category, TransactionStatus status) {
+        TransactionRequest request = TestTransactions.request(id, status);
+        request.setType(TransactionType.WITHDRAWAL.isValidCategory(category) ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT);
+        request.setCategory(category);
+        request.setAmount(new BigDecimal("25.00"));
+        request.setDescription("Payment ACME");
+        return request;
+    }
+
+    @Test
+    public void testStalePendingTransactionsExpire() {
+        transactionService.createTransaction(request("payment", TransactionCategory.PAYMENT, TransactionStatus.PENDING));
+        transactionService.createTransaction(request("refund", TransactionCategory.REPAYMENT_REFUND, TransactionStatus.PENDING));
+        transactionService.createTransaction(request("cash", TransactionCategory.CASH, TransactionStatus.PENDING));
+        assertEquals(2, timeouts.getTimerCount());
+        long now = System.currentTimeMillis();
+
+        assertEquals(0, expirer.expireStaleTransactions(now + 14 * MINUTE));
+        assertEquals(1, expirer.expireStaleTransactions(now + 16 * MINUTE));
+        Transaction payment = transactionService.getTransaction("payment");
+        assertEquals(TransactionStatus.CANCELLED, payment.getStatus());
+        assertEquals(2, payment.getVersion());
+        assertEquals(new BigDecimal("25.00"), payment.getAmount());
+
+        assertEquals(1, expirer.expireStaleTransactions(now + 61 * MINUTE));
+        assertEquals(TransactionStatus.CANCELLED, transactionService.getTransaction("refund").getStatus());
+        // categories without a timeout stay pending
+        assertEquals(TransactionStatus.PENDING, transactionService.getTransaction("cash").getStatus());
+        assertEquals(0, timeouts.getTimerCount());
+        assertEquals(2, expirer.getExpiredCount());
+    }
+
+    @Test
+    public void testCompletedTransactionsCancelTheirTimer() {
+        transactionService.createTransaction(request("payment", TransactionCategory.PAYMENT, TransactionStatus.PENDING));
+        transactionService.createTransaction(request("completed", TransactionCategory.PAYMENT, TransactionStatus.COMPLETED));
+        assertEquals(1, timeouts.getTimerCount());
+
+        // an update that keeps the transaction pending keeps its original deadline
+        TransactionRequest pending = request("payment", TransactionCategory.PAYMENT, TransactionStatus.PENDING);
+        pending.setDescription("Payment ACME ref 8841");
+        transactionService.updateTransaction(pending);
+        assertEquals(1, timeouts.getTimerCount());
+
+        transactionService.updateTransaction(request("payment", TransactionCategory.PAYMENT, TransactionStatus.COMPLETED));
+        assertEquals(0, timeouts.getTimerCount());
+        assertEquals(0, expirer.expireStaleTransactions(System.currentTimeMillis() + 16 * MINUTE));
+        assertEquals(TransactionStatus.COMPLETED, transactionService.getTransaction("payment").getStatus());
+        assertEquals(3, transactionService.getTransaction("payment").getVersion());
+    }
+
+    @Test
+    public void testTimerOfAnEarlierCategoryDoesNotExpire() {
+        transactionService.createTransaction(request("payment", TransactionCategory.PAYMENT, TransactionStatus.PENDING));
+        long now = System.currentTimeMillis();
+        // the timer of the 15 minute category fires, and the transaction moves to the 60 minute one before it is expired
+        List<String> due = timeouts.advance(now + 16 * MINUTE);
+        assertEquals(List.of("payment"), due);
+        transactionService.updateTransaction(request("payment", TransactionCategory.REPAYMENT_REFUND, TransactionStatus.PENDING));
+
+        assertEquals(0, transactionService.expirePendingTransactions(due, TransactionStatus.CANCELLED, now + 16 * MINUTE));
+        assertEquals(TransactionStatus.PENDING, transactionService.getTransaction("payment").getStatus());
+        assertEquals(0, expirer.expireStaleTransactions(now + 30 * MINUTE));
+        assertEquals(1, expirer.expireStaleTransactions(now + 61 * MINUTE));
+        assertEquals(TransactionStatus.CANCELLED, transactionService.getTransaction("payment").getStatus());
+    }
+
+    @Test
+    public void testDueTransactionsExpireAsOneBatch() {
+        for (int i = 0; i < 1000; i++) {
+            transactionService.createTransaction(request("payment-" + i, TransactionCategory.PAYMENT, TransactionStatus.PENDING));
+        }
+        transactionService.updateTransaction(request("payment-7", TransactionCategory.PAYMENT, TransactionStatus.COMPLETED));
+        long modifications = transactionService.getModificationCount();
+
+        assertEquals(999, expirer.expireStaleTransactions(System.currentTimeMillis() + 16 * MINUTE));
+        assertEquals(modifications + 999, transactionService.getModificationCount());
+        assertEquals(TransactionStatus.COMPLETED, transactionService.getTransaction("payment-7").getStatus());
+        assertEquals(TransactionStatus.CANCELLED, transactionService.getTransaction("payment-8").getStatus());
+        assertEquals(0, timeouts.getTimerCount());
+    }
+
+    @Test
+    public void testDeadlineUsesTheCreationInstant() {
+        long created = System.currentTimeMillis();
+        // the local creation time is ambiguous when the clocks go back, the epoch milliseconds are not
+        timeouts.track(Transaction.builder().id("payment").category(TransactionCategory.PAYMENT)
+                .status(TransactionStatus.PENDING).createTime(LocalDateTime.of(2026, 10, 25, 2, 30))
+                .createTimeMillis(created).build());
+
+        assertEquals(List.of(), timeouts.advance(created + 15 * MINUTE - 1));
+        assertEquals(List.of("payment"), timeouts.advance(created + 15 * MINUTE + 1000));
+    }
+}
@@ -0,0 +1,101 @@
+package org.ayle.transaction.management;
+
+import org.ayle.transaction.management.cache.HotQueryTracker;
+import org.ayle.transaction.management.controller.ReactiveTransactionController;
+import org.ayle.transaction.management.entity.Transaction;
+import org.ayle.transaction.management.model.TransactionListRequest;
+import org.ayle.transaction.management.model.TransactionSearchRequest;
+import org.ayle.transaction.management.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The {@code /api/v2} endpoints on the default Spring MVC stack, where they are served through async request handling.
+ */
+@WebMvcTest(ReactiveTransactionController.class)
+public class ReactiveTransactionControllerMvcTest {
+
+    @MockBean
+    private TransactionService transactionService;
+
+    @MockBean
+    private HotQueryTracker hotQueryTracker;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        Transaction transaction1 = new Transaction();
+        transaction1.setId("1");
+        Transaction transaction2 = new Transaction();
+        transaction2.setId("2");
+        Mockito.when(transactionService.listTransactions(ArgumentMatchers.any(TransactionListRequest.class)))
+                .thenReturn(List.of(transaction1, transaction2));
+        Mockito.when(transactionService.searchTransactions(ArgumentMatchers.any(TransactionSearchRequest.class)))
+                .thenReturn(List.of(transaction1, transaction2));
+    }
+
+    @Test
+    public void testListDefaultsToJsonArray() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v2/transactions/list")
+                        .param("pageSize", "10")
+                        .param("pageNo", "1")
+                        .accept(MediaType.ALL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value("1"));
+    }
+
+    @Test
+    public void testSearchDefaultsToJsonArray() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v2/transactions/search")
+                        .param("query", "payment")
+                        .param("pageSize", "10")
+                        .param("pageNo", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[1].id").value("2"));
+    }
+
+    @Test
+    public void testListStreamsNdjsonOnRequest() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v2/transactions/list")
+                        .param("pageSize", "10")
+                        .param("pageNo", "1")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, result.getResponse().getContentType());
+        String[] lines = result.getResponse().getContentAsString().trim().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":\"1\""));
+    }
+}
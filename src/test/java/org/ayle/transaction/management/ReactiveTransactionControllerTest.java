@@ -0,0 +1,151 @@
+package org.ayle.transaction.management;
+
+import org.ayle.transaction.management.Exception.ErrorCode;
+import org.ayle.transaction.management.Exception.TransactionException;
+import org.ayle.transaction.management.cache.HotQueryTracker;
+import org.ayle.transaction.management.controller.ReactiveTransactionController;
+import org.ayle.transaction.management.entity.Transaction;
+import org.ayle.transaction.management.enums.TransactionCategory;
+import org.ayle.transaction.management.enums.TransactionStatus;
+import org.ayle.transaction.management.enums.TransactionType;
+import org.ayle.transaction.management.model.TransactionListRequest;
+import org.ayle.transaction.management.model.TransactionRequest;
+import org.ayle.transaction.management.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@WebFluxTest(ReactiveTransactionController.class)
+public class ReactiveTransactionControllerTest {
+
+    @MockBean
+    private TransactionService transactionService;
+
+    @MockBean
+    private HotQueryTracker hotQueryTracker;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveTransactionController transactionController;
+
+    @Test
+    public void testCreateTransactionSuccess() {
+        TransactionRequest request = new TransactionRequest();
+        request.setType(TransactionType.DEPOSIT);
+        request.setCategory(TransactionCategory.CASH);
+        request.setStatus(TransactionStatus.PENDING);
+        request.setAmount(new BigDecimal("100.0"));
+        request.setDescription("Deposit Cash");
+        request.setPrimaryAccount("12345");
+
+        Mockito.when(transactionService.createTransaction(request)).thenReturn("1");
+
+        ResponseEntity<String> response = transactionController.createTransaction(request).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("1", response.getBody());
+    }
+
+    @Test
+    public void testCreateTransactionFailure() {
+        TransactionRequest request = new TransactionRequest();
+
+        Mockito.when(transactionService.createTransaction(request))
+                .thenThrow(new TransactionException(ErrorCode.INVALID_TRANSACTION_CATEGORY));
+
+        ResponseEntity<String> response = transactionController.createTransaction(request).block();
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(ErrorCode.INVALID_TRANSACTION_CATEGORY.getMessage(), response.getBody());
+    }
+
+    @Test
+    public void testCreateTransactionWithInvalidAmount() {
+        String jsonRequest = "{\"type\":\"DEPOSIT\"," +
+                "\"category\":\"CASH\"," +
+                "\"status\":\"PENDING\"," +
+                "\"amount\":-100.0," +
+                "\"description\":\"Deposit Cash\"," +
+                "\"primaryAccount\":\"12345\"}";
+
+        webTestClient.post().uri("/api/v2/transactions/create")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(jsonRequest)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void testListTransactionsServesCachedPages() {
+        Transaction transaction1 = new Transaction();
+        transaction1.setId("1");
+        Transaction transaction2 = new Transaction();
+        transaction2.setId("2");
+
+        Mockito.when(transactionService.listTransactions(ArgumentMatchers.any(TransactionListRequest.class)))
+                .thenReturn(List.of(transaction1, transaction2));
+
+        List<Transaction> body = webTestClient.get().uri("/api/v2/transactions/list?pageSize=10&pageNo=1")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Transaction.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(2, body.size());
+        assertEquals("1", body.get(0).getId());
+        assertEquals("2", body.get(1).getId());
+        Mockito.verify(hotQueryTracker).record(ArgumentMatchers.any(TransactionListRequest.class));
+    }
+
+    @Test
+    public void testListTransactionsDefaultsToJsonArray() {
+        Transaction transaction = new Transaction();
+        transaction.setId("1");
+
+        Mockito.when(transactionService.listTransactions(ArgumentMatchers.any(TransactionListRequest.class)))
+                .thenReturn(List.of(transaction));
+
+        webTestClient.get().uri("/api/v2/transactions/list?pageSize=10&pageNo=1")
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$[0].id").isEqualTo("1");
+    }
+
+    @Test
+    public void testListTransactionsWithInvalidPageNo() {
+        webTestClient.get().uri("/api/v2/transactions/list?pageSize=10&pageNo=-1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void testDeleteTransactionFailure() {
+        Mockito.doThrow(new TransactionException(ErrorCode.TRANSACTION_NOT_FOUND))
+                .when(transactionService).deleteTransaction("1");
+
+        webTestClient.post().uri("/api/v2/transactions/delete/1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo(ErrorCode.TRANSACTION_NOT_FOUND.getMessage());
+    }
+
+}
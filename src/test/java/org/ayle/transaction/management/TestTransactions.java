@@ -0,0 +1,59 @@
+package org.ayle.transaction.management;
+
+import org.ayle.transaction.management.config.PendingExpiryProperties;
+import org.ayle.transaction.management.enums.TransactionCategory;
+import org.ayle.transaction.management.enums.TransactionStatus;
+import org.ayle.transaction.management.enums.TransactionType;
+import org.ayle.transaction.management.expiry.PendingTransactionTimeouts;
+import org.ayle.transaction.management.model.TransactionRequest;
+import org.ayle.transaction.management.service.TransactionSearchIndex;
+import org.ayle.transaction.management.service.TransactionService;
+
+import java.math.BigDecimal;
+
+/**
+ * Shared fixtures of the tests that use a {@link TransactionService} without the application context.
+ */
+final class TestTransactions {
+
+    private TestTransactions() {
+    }
+
+    /**
+     * Creates a service with an empty store and no pending timeouts.
+     *
+     * @return The service.
+     */
+    static TransactionService newService() {
+        return newService(new PendingTransactionTimeouts(new PendingExpiryProperties()));
+    }
+
+    /**
+     * Creates a service with an empty store that reports its pending transactions to the given timeouts.
+     *
+     * @param timeouts The pending transaction timeouts.
+     * @return The service.
+     */
+    static TransactionService newService(PendingTransactionTimeouts timeouts) {
+        return new TransactionService(new TransactionSearchIndex(), timeouts);
+    }
+
+    /**
+     * Returns a request for a valid cash deposit of 100.0 for account 12345.
+     *
+     * @param id     The transaction ID, or null to generate one on create.
+     * @param status The transaction status.
+     * @return The request.
+     */
+    static TransactionRequest request(String id, TransactionStatus status) {
+        TransactionRequest request = new TransactionRequest();
+        request.setId(id);
+        request.setType(TransactionType.DEPOSIT);
+        request.setCategory(TransactionCategory.CASH);
+        request.setStatus(status);
+        request.setAmount(new BigDecimal("100.0"));
+        request.setDescription("Deposit Cash");
+        request.setPrimaryAccount("12345");
+        return request;
+    }
+}
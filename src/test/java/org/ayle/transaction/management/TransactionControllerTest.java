@@ -2,13 +2,16 @@ package org.ayle.transaction.management;
 
 import org.ayle.transaction.management.Exception.ErrorCode;
 import org.ayle.transaction.management.Exception.TransactionException;
+import org.ayle.transaction.management.cache.HotQueryTracker;
 import org.ayle.transaction.management.controller.TransactionController;
 import org.ayle.transaction.management.entity.Transaction;
 import org.ayle.transaction.management.enums.TransactionCategory;
 import org.ayle.transaction.management.enums.TransactionStatus;
 import org.ayle.transaction.management.enums.TransactionType;
+import org.ayle.transaction.management.model.ConditionalUpdateRequest;
 import org.ayle.transaction.management.model.TransactionListRequest;
 import org.ayle.transaction.management.model.TransactionRequest;
+import org.ayle.transaction.management.model.TransactionSearchRequest;
 import org.ayle.transaction.management.service.TransactionService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,6 +30,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 
 
+import java.math.BigDecimal;
 import java.util.List;
 
 import static org.ayle.transaction.management.Exception.ErrorCode.INVALID_TRANSACTION_CATEGORY;
@@ -41,6 +45,9 @@ public class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private HotQueryTracker hotQueryTracker;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -54,7 +61,7 @@ public class TransactionControllerTest {
         request.setType(TransactionType.DEPOSIT);
         request.setCategory(TransactionCategory.CASH);
         request.setStatus(TransactionStatus.PENDING);
-        request.setAmount(100.0);
+        request.setAmount(new BigDecimal("100.0"));
         request.setDescription("Deposit Cash");
         request.setPrimaryAccount("12345");
 
@@ -74,7 +81,7 @@ public class TransactionControllerTest {
         request.setType(TransactionType.DEPOSIT);
         request.setCategory(TransactionCategory.TRANSFER_OUT);
         request.setStatus(TransactionStatus.PENDING);
-        request.setAmount(100.0);
+        request.setAmount(new BigDecimal("100.0"));
         request.setDescription("Deposit Cash");
         request.setPrimaryAccount("12345");
 
@@ -105,6 +112,24 @@ public class TransactionControllerTest {
 
     }
 
+    @Test
+    public void testCreateTransactionWithStringAmount() throws Exception {
+        String jsonRequest = "{\"type\":\"DEPOSIT\"," +
+                "\"category\":\"CASH\"," +
+                "\"status\":\"PENDING\"," +
+                "\"amount\":\"0.10\"," +
+                "\"description\":\"Deposit Cash\"," +
+                "\"primaryAccount\":\"12345\"}";
+
+        Mockito.when(transactionService.createTransaction(Mockito.argThat(r -> new BigDecimal("0.10").equals(r.getAmount()))))
+                .thenReturn("1");
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/transactions/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonRequest))
+                .andExpect(status().isOk());
+    }
+
     @Test
     public void testListTransactionsSuccess() {
         TransactionListRequest request = new TransactionListRequest();
@@ -151,6 +176,52 @@ public class TransactionControllerTest {
         assertEquals("Invalid request content.", result.getResponse().getErrorMessage());
     }
 
+    @Test
+    public void testSearchTransactionsSuccess() {
+        TransactionSearchRequest request = new TransactionSearchRequest();
+        request.setQuery("acme");
+
+        Transaction transaction = new Transaction();
+        transaction.setDescription("Payment to ACME");
+
+        Mockito.when(transactionService.searchTransactions(request)).thenReturn(List.of(transaction));
+
+        ResponseEntity<List<Transaction>> response = transactionController.searchTransactions(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(1, response.getBody().size());
+    }
+
+    @Test
+    public void testSearchTransactionsWithBlankQuery() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/transactions/search")
+                        .param("pageSize", "10")
+                        .param("pageNo", "1")
+                        .param("query", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetTransactionSuccess() throws Exception {
+        Transaction transaction = new Transaction();
+        transaction.setId("1");
+        Mockito.when(transactionService.getTransaction("1")).thenReturn(transaction);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/transactions/1"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testGetTransactionNotFound() {
+        Mockito.when(transactionService.getTransaction("1")).thenThrow(new TransactionException(ErrorCode.TRANSACTION_NOT_FOUND));
+
+        ResponseEntity<?> response = transactionController.getTransaction("1");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(ErrorCode.TRANSACTION_NOT_FOUND.getMessage(), response.getBody());
+    }
+
     @Test
     public void testUpdateTransactionSuccess() {
         TransactionRequest request = new TransactionRequest();
@@ -158,7 +229,7 @@ public class TransactionControllerTest {
         request.setType(TransactionType.WITHDRAWAL);
         request.setCategory(TransactionCategory.CASH);
         request.setStatus(TransactionStatus.COMPLETED);
-        request.setAmount(50.0);
+        request.setAmount(new BigDecimal("50.0"));
         request.setDescription("Withdrawal Card");
         request.setPrimaryAccount("67890");
 
@@ -183,6 +254,68 @@ public class TransactionControllerTest {
         assertEquals(ErrorCode.TRANSACTION_NOT_FOUND.getMessage(), response.getBody());
     }
 
+    @Test
+    public void testConditionalUpdateTransactionSuccess() {
+        ConditionalUpdateRequest request = new ConditionalUpdateRequest();
+        request.setId("1");
+        request.setStatus(TransactionStatus.COMPLETED);
+        request.setExpectedStatus(TransactionStatus.PENDING);
+
+        Transaction transaction = new Transaction();
+        transaction.setId("1");
+        transaction.setVersion(2);
+        Mockito.when(transactionService.conditionalUpdateTransaction(request)).thenReturn(transaction);
+
+        ResponseEntity<?> response = transactionController.conditionalUpdateTransaction(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(transaction, response.getBody());
+    }
+
+    @Test
+    public void testConditionalUpdateTransactionConflict() {
+        ConditionalUpdateRequest request = new ConditionalUpdateRequest();
+        request.setExpectedVersion(1L);
+
+        Mockito.when(transactionService.conditionalUpdateTransaction(request))
+                .thenThrow(new TransactionException(ErrorCode.TRANSACTION_VERSION_CONFLICT));
+
+        ResponseEntity<?> response = transactionController.conditionalUpdateTransaction(request);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(ErrorCode.TRANSACTION_VERSION_CONFLICT.getMessage(), response.getBody());
+    }
+
+    @Test
+    public void testConditionalUpdateTransactionWithoutExpectation() throws Exception {
+        String jsonRequest = "{\"id\":\"1\"," +
+                "\"type\":\"DEPOSIT\"," +
+                "\"category\":\"CASH\"," +
+                "\"status\":\"COMPLETED\"," +
+                "\"amount\":100.0," +
+                "\"description\":\"Deposit Cash\"," +
+                "\"primaryAccount\":\"12345\"}";
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/transactions/update/conditional")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonRequest))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testConditionalUpdateTransactionWithStatusOnly() throws Exception {
+        Transaction transaction = new Transaction();
+        transaction.setId("1");
+        transaction.setVersion(2);
+        Mockito.when(transactionService.conditionalUpdateTransaction(Mockito.any(ConditionalUpdateRequest.class)))
+                .thenReturn(transaction);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/transactions/update/conditional")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":\"1\",\"status\":\"COMPLETED\",\"expectedVersion\":1}"))
+                .andExpect(status().isOk());
+    }
+
     @Test
     public void testDeleteTransactionSuccess() {
         String transactionId = "1";
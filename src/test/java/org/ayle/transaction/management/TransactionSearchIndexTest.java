@@ -0,0 +1,133 @@
+package org.ayle.transaction.management;
+
+import org.ayle.transaction.management.entity.Transaction;
+import org.ayle.transaction.management.enums.SearchOrder;
+import org.ayle.transaction.management.enums.TransactionStatus;
+import org.ayle.transaction.management.service.TransactionSearchIndex;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionSearchIndexTest {
+
+    private final TransactionSearchIndex searchIndex = new TransactionSearchIndex();
+
+    private static Transaction transaction(String id, String description, String primaryAccount) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setStatus(TransactionStatus.PENDING);
+        transaction.setDescription(description);
+        transaction.setPrimaryAccount(primaryAccount);
+        return transaction;
+    }
+
+    private List<String> search(String query) {
+        return searchIndex.search(query, null, transaction -> true, SearchOrder.RELEVANCE, 0, 100).stream()
+                .map(Transaction::getId).toList();
+    }
+
+    @Test
+    public void testSearchMatchesEveryTerm() {
+        searchIndex.index(transaction("1", "Payment to ACME Coffee, ref 8841", "12345"));
+        searchIndex.index(transaction("2", "Payment to Globex", "12345"));
+
+        assertEquals(List.of("1"), search("acme payment 8841"));
+        assertEquals(2, search("PAYMENT").size());
+        assertTrue(search("acme globex").isEmpty());
+        assertTrue(search("unknown").isEmpty());
+    }
+
+    @Test
+    public void testSearchByPrimaryAccount() {
+        searchIndex.index(transaction("1", "Deposit Cash", "ACC-12345"));
+
+        assertEquals(List.of("1"), search("acc-12345"));
+        assertEquals(List.of("1"), search("12345"));
+    }
+
+    @Test
+    public void testShorterDescriptionRanksHigher() {
+        searchIndex.index(transaction("1", "ACME", null));
+        searchIndex.index(transaction("2", "ACME monthly subscription renewal", null));
+        searchIndex.index(transaction("3", "ACME monthly", null));
+
+        assertEquals(List.of("1", "3", "2"), search("acme"));
+    }
+
+    @Test
+    public void testReindexReplacesPreviousTerms() {
+        searchIndex.index(transaction("1", "Payment to ACME", "12345"));
+        searchIndex.index(transaction("1", "Payment to Globex", "12345"));
+
+        assertTrue(search("acme").isEmpty());
+        assertEquals(List.of("1"), search("globex"));
+    }
+
+    @Test
+    public void testOlderVersionIsIgnored() {
+        Transaction newer = transaction("1", "Payment to Globex", "12345");
+        newer.setVersion(2);
+        Transaction older = transaction("1", "Payment to ACME", "12345");
+        older.setVersion(1);
+
+        searchIndex.index(newer);
+        searchIndex.index(older);
+
+        assertTrue(search("acme").isEmpty());
+        assertEquals(List.of("1"), search("globex"));
+    }
+
+    @Test
+    public void testDeletedTransactionIsRemoved() {
+        Transaction transaction = transaction("1", "Payment to ACME", "12345");
+        searchIndex.index(transaction);
+        searchIndex.index(transaction.toBuilder().status(TransactionStatus.DELETED).version(1).build());
+
+        assertTrue(search("acme").isEmpty());
+        assertTrue(search("12345").isEmpty());
+    }
+
+    @Test
+    public void testConcurrentReindexIsSeenOnce() throws Exception {
+        Transaction transaction = transaction("1", "Payment to ACME", "12345");
+        transaction.setUpdateTime(LocalDateTime.now());
+        searchIndex.index(transaction);
+        Thread writer = new Thread(() -> {
+            for (int version = 1; version <= 20_000; version++) {
+                searchIndex.index(transaction.toBuilder()
+                        .description(version % 2 == 0 ? "Payment to ACME" : "Payment to ACME store")
+                        .updateTime(LocalDateTime.now()).version(version).build());
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            assertEquals(1, searchIndex.search("acme payment", null, t -> true, SearchOrder.RELEVANCE, 0, 10).size());
+            assertEquals(1, searchIndex.search("acme payment", null, t -> true, SearchOrder.RECENT, 0, 10).size());
+        }
+        writer.join();
+    }
+
+    @Test
+    public void testReplacedDocumentsAreCompacted() {
+        TransactionSearchIndex index = new TransactionSearchIndex(Runnable::run);
+        Transaction transaction = transaction("1", "Payment to ACME", "12345");
+        for (int version = 0; version < 1_000; version++) {
+            index.index(transaction.toBuilder().version(version).build());
+        }
+
+        // 4 terms, each list keeps the current document and fewer than 16 replaced ones
+        assertTrue(index.getPostingCount() <= 4 * 16, "postings: " + index.getPostingCount());
+        assertEquals(1, index.search("acme", null, t -> true, SearchOrder.RELEVANCE, 0, 10).size());
+    }
+
+    @Test
+    public void testBlankQuery() {
+        searchIndex.index(transaction("1", "Payment to ACME", "12345"));
+
+        assertTrue(search("  ").isEmpty());
+        assertTrue(search("a").isEmpty());
+    }
+}
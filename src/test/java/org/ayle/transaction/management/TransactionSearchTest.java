@@ -0,0 +1,110 @@
+package org.ayle.transaction.management;
+
+import org.ayle.transaction.management.entity.Transaction;
+import org.ayle.transaction.management.enums.SearchOrder;
+import org.ayle.transaction.management.enums.TransactionCategory;
+import org.ayle.transaction.management.enums.TransactionStatus;
+import org.ayle.transaction.management.enums.TransactionType;
+import org.ayle.transaction.management.model.TransactionRequest;
+import org.ayle.transaction.management.model.TransactionSearchRequest;
+import org.ayle.transaction.management.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionSearchTest {
+
+    private final TransactionService transactionService = TestTransactions.newService();
+
+    private void create(String id, TransactionType type, TransactionCategory category, String description,
+                        String primaryAccount) {
+        TransactionRequest request = TestTransactions.request(id, TransactionStatus.PENDING);
+        request.setType(type);
+        request.setCategory(category);
+        request.setAmount(new BigDecimal("10.00"));
+        request.setDescription(description);
+        request.setPrimaryAccount(primaryAccount);
+        transactionService.createTransaction(request);
+    }
+
+    private static TransactionSearchRequest search(String query, int pageSize, int pageNo) {
+        TransactionSearchRequest request = new TransactionSearchRequest();
+        request.setQuery(query);
+        request.setPageSize(pageSize);
+        request.setPageNo(pageNo);
+        return request;
+    }
+
+    private static List<String> ids(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getId).toList();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        // created in this order, so 5 is the most recently updated
+        create("1", TransactionType.WITHDRAWAL, TransactionCategory.PAYMENT, "Payment ACME coffee", "12345");
+        create("2", TransactionType.WITHDRAWAL, TransactionCategory.PAYMENT, "Payment ACME", "12345-9");
+        create("3", TransactionType.DEPOSIT, TransactionCategory.CASH, "Cash payment ACME refund desk", "12345");
+        create("4", TransactionType.WITHDRAWAL, TransactionCategory.CASH, "Payment Globex", "12345");
+        create("5", TransactionType.WITHDRAWAL, TransactionCategory.PAYMENT, "Payment ACME store", "67890");
+    }
+
+    @Test
+    public void testRelevanceOrderAndPaging() {
+        // 1, 2 and 5 cover 2 of their 4 terms and tie, so the most recent comes first; 3 covers 2 of 6
+        assertEquals(List.of("5", "2", "1", "3"), ids(transactionService.searchTransactions(search("acme payment", 10, 1))));
+        assertEquals(List.of("5", "2"), ids(transactionService.searchTransactions(search("acme payment", 2, 1))));
+        assertEquals(List.of("1", "3"), ids(transactionService.searchTransactions(search("acme payment", 2, 2))));
+        assertEquals(List.of(), ids(transactionService.searchTransactions(search("acme payment", 2, 3))));
+    }
+
+    @Test
+    public void testRecentOrder() {
+        TransactionSearchRequest request = search("payment", 10, 1);
+        request.setOrder(SearchOrder.RECENT);
+        assertEquals(List.of("5", "4", "3", "2", "1"), ids(transactionService.searchTransactions(request)));
+    }
+
+    @Test
+    public void testFilters() {
+        TransactionSearchRequest request = search("payment", 10, 1);
+        request.setCategory(TransactionCategory.CASH);
+        request.setOrder(SearchOrder.RECENT);
+        assertEquals(List.of("4", "3"), ids(transactionService.searchTransactions(request)));
+
+        request.setType(TransactionType.DEPOSIT);
+        assertEquals(List.of("3"), ids(transactionService.searchTransactions(request)));
+
+        request.setStatus(TransactionStatus.COMPLETED);
+        assertTrue(transactionService.searchTransactions(request).isEmpty());
+    }
+
+    @Test
+    public void testExactPrimaryAccount() {
+        TransactionSearchRequest request = search("acme", 10, 1);
+        request.setPrimaryAccount("12345");
+        request.setOrder(SearchOrder.RECENT);
+        // 2 contains the term 12345 in its account 12345-9, but does not have that exact account
+        assertEquals(List.of("3", "1"), ids(transactionService.searchTransactions(request)));
+
+        request.setPrimaryAccount("99999");
+        assertTrue(transactionService.searchTransactions(request).isEmpty());
+    }
+
+    @Test
+    public void testDeletedTransactionsAreNotFound() {
+        transactionService.deleteTransaction("2");
+        assertEquals(List.of("5", "1", "3"), ids(transactionService.searchTransactions(search("acme payment", 10, 1))));
+    }
+
+    @Test
+    public void testLargePages() {
+        assertEquals(5, transactionService.searchTransactions(search("payment", Integer.MAX_VALUE, 1)).size());
+        assertTrue(transactionService.searchTransactions(search("payment", Integer.MAX_VALUE, Integer.MAX_VALUE)).isEmpty());
+        assertTrue(transactionService.searchTransactions(search("payment", 1 << 20, 1 << 20)).isEmpty());
+    }
+}
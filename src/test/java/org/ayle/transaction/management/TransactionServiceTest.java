@@ -15,6 +15,7 @@ import org.junit.runner.RunWith;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.math.BigDecimal;
 import java.util.*;
 
 import static org.ayle.transaction.management.Exception.ErrorCode.COUNTERPARTY_ACCOUNT_REQUIRED;
@@ -35,7 +36,7 @@ public class TransactionServiceTest {
         request.setType(TransactionType.DEPOSIT);
         request.setCategory(TransactionCategory.CASH);
         request.setStatus(TransactionStatus.PENDING);
-        request.setAmount(100.0);
+        request.setAmount(new BigDecimal("100.0"));
         request.setDescription("Deposit Cash");
         request.setPrimaryAccount("12345");
 
@@ -54,7 +55,7 @@ public class TransactionServiceTest {
         requestPre.setType(TransactionType.DEPOSIT);
         requestPre.setCategory(TransactionCategory.CASH);
         requestPre.setStatus(TransactionStatus.PENDING);
-        requestPre.setAmount(100.0);
+        requestPre.setAmount(new BigDecimal("100.0"));
         requestPre.setDescription("Test deposit");
         requestPre.setPrimaryAccount("12345");
 
@@ -65,7 +66,7 @@ public class TransactionServiceTest {
         request.setType(TransactionType.DEPOSIT);
         request.setCategory(TransactionCategory.CASH);
         request.setStatus(TransactionStatus.PENDING);
-        request.setAmount(50.0);
+        request.setAmount(new BigDecimal("50.0"));
         request.setDescription("Another deposit");
         request.setPrimaryAccount("67890");
 
@@ -104,7 +105,7 @@ public class TransactionServiceTest {
         request.setType(TransactionType.DEPOSIT);
         request.setCategory(TransactionCategory.CASH);
         request.setStatus(TransactionStatus.PENDING);
-        request.setAmount(100.0);
+        request.setAmount(new BigDecimal("100.0"));
         request.setDescription("Test deposit");
         request.setPrimaryAccount("12345");
 
@@ -142,7 +143,7 @@ public class TransactionServiceTest {
             request.setType(TransactionType.DEPOSIT);
             request.setCategory(TransactionCategory.CASH);
             request.setStatus(TransactionStatus.PENDING);
-            request.setAmount(100.0);
+            request.setAmount(new BigDecimal("100.0"));
             request.setDescription("Deposit Cash " + i);
             request.setPrimaryAccount("12345");
 